@@ -1,14 +1,27 @@
 package main;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedList;
 
+import pointStandings.ConfigManager;
 import pointStandings.RFResultsManager;
+import pointStandings.ResultsWatcher;
 import pointStandings.StandingsGenerator;
 import utilities.LogFileManager;
 
 /**
   * Runs the XML parser
+  * <br><br>
+  * Usage: XmlDriver [-watch] [directory [glob]]<br>
+  * With a directory, every results file in it
+  * matching the glob (Default "*.xml") is 
+  * imported at once.  Otherwise the test 
+  * files in the working directory are read.
+  * <br><br>
+  * With -watch the directory keeps being watched
+  * after the import, and the standings are 
+  * updated as each new results file is written.
   * 
   * @author Richard Matthews
   */
@@ -26,26 +39,74 @@ public class XmlDriver
 		paths.add("Legends-ThunderSR.xml");
 		String newLine = "----------------------------------------"+
 				System.getProperty("line.separator");
+		ConfigManager config = new ConfigManager();
+		config.applyLogRotation();
+		config.applyLogLevels();
 		RFResultsManager manager = RFResultsManager.getManager();
 		StandingsGenerator standings = new StandingsGenerator();
+		boolean watch = args.length > 0 && args[0].equals("-watch");
+		if (watch)
+			args = Arrays.copyOfRange(args, 1, args.length);
+		if (watch && args.length == 0)
+		{
+			System.out.println("Usage: XmlDriver [-watch] [directory [glob]]");
+			return;
+		}
 		
 		//Create results based on file paths
-		Iterator<String> iterator = paths.iterator();
-		while(iterator.hasNext())
+		if (args.length > 0)
 		{
 			LogFileManager.replayPrint(newLine);
-			String path = iterator.next();
-			manager.readResults(path);
+			manager.readDirectory(args[0], (args.length > 1) ? args[1] : "*.xml");
+		}
+		else
+		{
+			Iterator<String> iterator = paths.iterator();
+			while(iterator.hasNext())
+			{
+				LogFileManager.replayPrint(newLine);
+				String path = iterator.next();
+				manager.readResults(path);
+			}
 		}
 		
 		//Compile results
 		LogFileManager.replayPrint(newLine);
-		LogFileManager.replayPrint(standings.produceOverallStandings());
+		standings.writeOverallStandings(LogFileManager.getReplayOutput());
 //		LogFileManager.replayPrint(newLine);
 //		LogFileManager.replayPrint(standings.produceClassStandings());
 		//TODO Standings and results
 		
+		//Keep the standings current until killed
+		if (watch)
+		{
+			final ResultsWatcher watcher = new ResultsWatcher(args[0], 
+					(args.length > 1) ? args[1] : "*.xml", 2000, standings);
+			final Thread watchThread = Thread.currentThread();
+			Runtime.getRuntime().addShutdownHook(new Thread()
+			{
+				public void run()
+				{
+					//Let an import in progress finish logging before the logs close
+					watcher.stop();
+					try
+					{
+						watchThread.join(10000);
+					}
+					catch (InterruptedException e)
+					{
+						Thread.currentThread().interrupt();
+					}
+					standings.getAudit().close();
+					LogFileManager.shutdown();
+				}
+			});
+			watcher.run();
+			return;
+		}
+		
 		//Shutdown logs
+		standings.getAudit().close();
 		LogFileManager.shutdown();
 	}
 }
\ No newline at end of file
@@ -0,0 +1,152 @@
+package parser;
+
+import pointStandings.RaceTime;
+
+/**
+  * Builds a decimal number out of the character
+  * chunks handed over by an XMLStreamReader so
+  * that numeric elements can be read without
+  * creating a String for each one.
+  * <br><br>
+  * Meant to be reset and reused by a single
+  * parser, so it is not thread safe.
+  * 
+  * @author Richard Matthews
+  * @version 1 (10-17-2026)
+  */
+final class NumberReader
+{
+	private static final double[] powersOfTen = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6,
+		1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18};
+	private static final int maxDigits = 18;//Digits a long can hold safely
+	
+	private long mantissa;
+	private int digits;//Significant digits in the mantissa
+	private int decimals;//Digits in the mantissa after the decimal point
+	private int dropped;//Integer digits that did not fit in the mantissa
+	private boolean negative, pointFound, digitFound, valid;
+	
+	/**
+	  * Clears out the last number read
+	  */
+	public void reset()
+	{
+		mantissa = 0;
+		digits = 0;
+		decimals = 0;
+		dropped = 0;
+		negative = false;
+		pointFound = false;
+		digitFound = false;
+		valid = true;
+	}
+	
+	/**
+	  * Adds a chunk of characters to the number.
+	  * Whitespace is ignored, anything that is not a
+	  * sign, digit, or decimal point invalidates it.
+	  * 
+	  * @param text - Character buffer
+	  * @param start - Start of the chunk in the buffer
+	  * @param length - Length of the chunk
+	  */
+	public void append(char[] text, int start, int length)
+	{
+		int end = start+length;
+		for (int i = start; i < end; i++)
+		{
+			char c = text[i];
+			if (c >= '0' && c <= '9')
+			{
+				digitFound = true;
+				if (digits < maxDigits)
+				{
+					mantissa = mantissa*10+(c-'0');
+					if (mantissa != 0)
+						digits++;
+					if (pointFound)
+						decimals++;
+				}
+				else if (!pointFound)
+					dropped++;
+				continue;
+			}
+			
+			switch (c)
+			{
+				case '.':
+					if (pointFound)
+						valid = false;
+					pointFound = true;
+					break;
+				case '-':
+					if (negative)
+						valid = false;
+					negative = true;
+					break;
+				case '+': case ' ': case '\t': case '\n': case '\r':
+					break;
+				default:
+					valid = false;
+					break;
+			}
+		}
+	}
+	
+	/**
+	  * Checks if a number was read.  Times
+	  * written as "--.----" are not valid.
+	  * @return True if at least one digit was read and nothing illegal
+	  */
+	public boolean isValid()	{	return valid && digitFound;	}
+	
+	/**
+	  * Gets the number read as a double
+	  * @return The number, or NaN if not valid
+	  */
+	public double toDouble()
+	{
+		if (!isValid())
+			return Double.NaN;
+		
+		double value = mantissa;
+		if (dropped > 0)
+			value *= Math.pow(10, dropped);
+		if (decimals >= powersOfTen.length)
+			value /= Math.pow(10, decimals);
+		else if (decimals > 0)
+			value /= powersOfTen[decimals];
+		
+		return negative ? -value : value;
+	}
+	
+	/**
+	  * Gets the number read as a long, cutting off any decimals
+	  * @param fallback - Returned if the number is not valid
+	  * @return The number read
+	  */
+	public long toLong(long fallback)
+	{
+		if (!isValid() || dropped > 0)
+			return fallback;
+		
+		long value = mantissa;
+		for (int i = 0; i < decimals; i++)
+			value /= 10;
+		
+		return negative ? -value : value;
+	}
+	
+	/**
+	  * Gets the number read as a RaceTime, rounded the same
+	  * way as RaceTime.parse without going through a float
+	  * @return The time, or RaceTime.NONE if not a valid positive time
+	  */
+	public int toTime()
+	{
+		if (!isValid() || negative || dropped > 0)
+			return RaceTime.NONE;
+		
+		return RaceTime.fromDigits(mantissa, decimals);
+	}
+}
\ No newline at end of file
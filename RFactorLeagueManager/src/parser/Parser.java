@@ -2,15 +2,20 @@ package parser;
 
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
+import java.util.HashMap;
+import java.util.StringTokenizer;
 
-import javax.xml.stream.XMLEventReader;
-import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.events.StartElement;
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamReader;
 
+import pointStandings.Driver;
+import pointStandings.LapTable;
+import pointStandings.RaceTime;
 import utilities.LogFileManager;
+import utilities.LogFileManager.Level;
 
 /**
   * A parser superclass that defines the
@@ -24,6 +29,7 @@ public abstract class Parser
 {
 	private String filepath;
 	private static String header = "Super Parser";
+	private final NumberReader number = new NumberReader();
 	
 	/**
 	  * An enumeration meant to track what 
@@ -36,6 +42,90 @@ public abstract class Parser
 		None, Qualifying, Race, Practice, Test, Warmup
 	}
 	
+	/**
+	  * The elements of an rFactor XML file that the
+	  * parsers care about.  Element names are looked
+	  * up once in a precomputed table so the parsers
+	  * can switch on them instead of comparing strings.
+	  * 
+	  * @author Richard Matthews
+	  */
+	protected static enum Tag
+	{
+			//Header
+		DateTime("DateTime"), Mod("Mod"), TrackVenue("TrackVenue"), 
+		TrackEvent("TrackEvent"), TrackLength("TrackLength"), 
+		RaceLaps("RaceLaps"), RaceMinutes("RaceMinutes"),
+			//Sessions
+		Race("Race"), Qualify("Qualify"), Warmup("Warmup"), Practice1("Practice1"), 
+		Practice2("Practice2"), Practice3("Practice3"), Practice4("Practice4"),
+		TestDay("TestDay"),
+			//Session
+		Laps("Laps"), Minutes("Minutes"), Stream("Stream"), Driver("Driver"),
+			//Stream
+		Score("Score"), Incident("Incident"),
+			//Driver
+		Name("Name"), CarClass("CarClass"), CarNumber("CarNumber"), 
+		TeamName("TeamName"), Position("Position"), ClassPosition("ClassPosition"),
+		GridPos("GridPos"), ClassGridPos("ClassGridPos"), IsPlayer("isPlayer"),
+		Lap("Lap"), FinishStatus("FinishStatus"), FinishTime("FinishTime"),
+			//Anything else
+		Unknown("");
+		
+		private static final HashMap<String, Tag> tags = new HashMap<String, Tag>();
+		static
+		{
+			for (Tag tag : values())
+				tags.put(tag.xmlName, tag);
+		}
+		private final String xmlName;
+		
+		private Tag(String xmlName)	{	this.xmlName = xmlName;	}
+		
+		/**
+		  * Finds the tag for an element name
+		  * @param name - Local name of the element
+		  * @return The tag, or Unknown if not tracked
+		  */
+		public static Tag lookup(String name)
+		{
+			Tag tag = tags.get(name);
+			return (tag == null) ? Unknown : tag;
+		}
+	}
+	
+	/**
+	  * The attributes of a Lap element
+	  * 
+	  * @author Richard Matthews
+	  */
+	protected static enum LapField
+	{
+		Sector1("s1"), Sector2("s2"), Sector3("s3"), Number("num"), Position("p"),
+		ElapsedTime("et"), Fuel("fuel"), Pit("pit"), Unknown("");
+		
+		private static final HashMap<String, LapField> fields = new HashMap<String, LapField>();
+		static
+		{
+			for (LapField field : values())
+				fields.put(field.xmlName, field);
+		}
+		private final String xmlName;
+		
+		private LapField(String xmlName)	{	this.xmlName = xmlName;	}
+		
+		/**
+		  * Finds the field for an attribute name
+		  * @param name - Local name of the attribute
+		  * @return The field, or Unknown if not tracked
+		  */
+		public static LapField lookup(String name)
+		{
+			LapField field = fields.get(name);
+			return (field == null) ? Unknown : field;
+		}
+	}
+	
 	/**
 	  * Gets the type of a rFactor XML file.  See enum FileType.
 	  * @param filePath - Path to the file to check
@@ -54,60 +144,15 @@ public abstract class Parser
 			return type;
 		}
 		
+		InputStream in = null;
 		try
 		{
 			//Set up reading an XML file
-			XMLInputFactory inputFactory = XMLInputFactory.newInstance();
-			InputStream in = new FileInputStream(filePath);
-			XMLEventReader xmlReader = inputFactory.createXMLEventReader(in);
-			
-			//Keep track of tags
-			boolean found = false;
-			XMLEvent event = xmlReader.nextEvent();
+			in = new FileInputStream(filePath);
+			XMLStreamReader xmlReader = ParserContext.getContext().createReader(in);
 			
-			while (xmlReader.hasNext() && !found)
-			{
-				if(event.isStartElement())
-				{
-					StartElement startElement = event.asStartElement();
-					
-					if (startElement.getName().getLocalPart() == "Race")
-					{
-						found = true;
-						type = FileType.Race;
-					}
-					
-					if (startElement.getName().getLocalPart() == "Qualify")
-					{
-						found = true;
-						type = FileType.Qualifying;
-					}
-					
-					if (startElement.getName().getLocalPart() == "Warmup")
-					{
-						found = true;
-						type = FileType.Warmup;
-					}
-					
-					//Not 100% sure how deep this goes, so BSTS
-					if (startElement.getName().getLocalPart() == "Practice1" ||
-						startElement.getName().getLocalPart() == "Practice2" ||
-						startElement.getName().getLocalPart() == "Practice3" ||
-						startElement.getName().getLocalPart() == "Practice4")
-					{
-						found = true;
-						type = FileType.Practice;
-					}
-					
-					if (startElement.getName().getLocalPart() == "TestDay")
-					{
-						found = true;
-						type = FileType.Test;
-					}
-				}
-				
-				event = xmlReader.nextEvent();
-			}
+			type = readHeader(xmlReader).getType();
+			xmlReader.close();
 		}
 		catch (FileNotFoundException e)
 		{
@@ -117,10 +162,335 @@ public abstract class Parser
 		{
 			e.printStackTrace();
 		}
+		finally
+		{
+			closeStream(in);
+		}
 		
 		return type;
 	}
 	
+	/**
+	  * Gets the file type associated with the name
+	  * of a session element (Race, Qualify, etc).
+	  * @param name - Local name of the element
+	  * @return The associated file type (None if not a session element)
+	  */
+	public static FileType getSessionType(String name)
+	{
+		switch (Tag.lookup(name))
+		{
+			case Race:	return FileType.Race;
+			case Qualify:	return FileType.Qualifying;
+			case Warmup:	return FileType.Warmup;
+			//Not 100% sure how deep this goes, so BSTS
+			case Practice1:
+			case Practice2:
+			case Practice3:
+			case Practice4:	return FileType.Practice;
+			case TestDay:	return FileType.Test;
+			default:	return FileType.None;
+		}
+	}
+	
+	/**
+	  * Reads the weekend information at the top of a
+	  * results file, stopping on the first session 
+	  * element.  The reader is left on that element
+	  * so a session parser can carry on from the 
+	  * same stream.
+	  * 
+	  * @param xmlReader - Reader at the start of the file
+	  * @return The header read (Type is None if no session found)
+	  * @throws XMLStreamException - If the XML is malformed
+	  */
+	public static SessionHeader readHeader(XMLStreamReader xmlReader) 
+			throws XMLStreamException
+	{
+		SessionHeader sessionHeader = new SessionHeader();
+		
+		while (xmlReader.hasNext())
+		{
+			if (xmlReader.next() != XMLStreamConstants.START_ELEMENT)
+				continue;
+			
+			switch (Tag.lookup(xmlReader.getLocalName()))
+			{
+				case DateTime:
+					String id = xmlReader.getElementText();
+					if (sessionHeader.eventID == -1)
+						sessionHeader.eventID = Long.parseLong(id.trim());
+					break;
+				case Mod:
+					//Parse out the .rfm at the end
+					StringTokenizer tokens = new StringTokenizer(xmlReader.getElementText(), ".");
+					if (tokens.hasMoreTokens())
+						sessionHeader.modName = tokens.nextToken();
+					break;
+				case TrackVenue:
+					sessionHeader.trackName = xmlReader.getElementText();
+					break;
+				case TrackEvent:
+					sessionHeader.eventName = xmlReader.getElementText();
+					break;
+				case TrackLength:
+					sessionHeader.trackLength = Float.parseFloat(xmlReader.getElementText())/1000;
+					break;
+				case RaceLaps:
+					sessionHeader.raceLaps = Integer.parseInt(xmlReader.getElementText().trim());
+					break;
+				case RaceMinutes:
+					sessionHeader.raceMinutes = Integer.parseInt(xmlReader.getElementText().trim());
+					break;
+				default:
+					//Kick out on the session element
+					FileType type = getSessionType(xmlReader.getLocalName());
+					if (type != FileType.None)
+					{
+						sessionHeader.type = type;
+						return sessionHeader;
+					}
+					break;
+			}
+		}
+		
+		return sessionHeader;
+	}
+	
+	/**
+	  * Reads the text of the current element, leaving
+	  * the reader on its end element.
+	  * @param xmlReader - Reader on a start element
+	  * @return The text of the element
+	  * @throws XMLStreamException - If the element holds other elements
+	  */
+	protected String readText(XMLStreamReader xmlReader) throws XMLStreamException
+	{
+		return xmlReader.getElementText();
+	}
+	
+	/**
+	  * Reads the number held by the current element straight
+	  * out of the reader's buffer (No String is created),
+	  * leaving the reader on its end element.
+	  * @param xmlReader - Reader on a start element
+	  * @return The number, or NaN if the element is not a number
+	  * @throws XMLStreamException - If the XML is malformed
+	  */
+	protected double readNumber(XMLStreamReader xmlReader) throws XMLStreamException
+	{
+		readDigits(xmlReader);
+		return number.toDouble();
+	}
+	
+	/**
+	  * Reads the whole number held by the current element,
+	  * leaving the reader on its end element.
+	  * @param xmlReader - Reader on a start element
+	  * @return The number, or 0 if the element is not a number
+	  * @throws XMLStreamException - If the XML is malformed
+	  */
+	protected int readInt(XMLStreamReader xmlReader) throws XMLStreamException
+	{
+		readDigits(xmlReader);
+		return (int) number.toLong(0);
+	}
+	
+	/**
+	  * Reads the time in seconds held by the current element
+	  * as a RaceTime, leaving the reader on its end element.
+	  * @param xmlReader - Reader on a start element
+	  * @return The time, or RaceTime.NONE if the element is not a time
+	  * @throws XMLStreamException - If the XML is malformed
+	  */
+	protected int readTime(XMLStreamReader xmlReader) throws XMLStreamException
+	{
+		readDigits(xmlReader);
+		return number.toTime();
+	}
+	
+	/**
+	  * Feeds the text of the current element to the number reader
+	  * @param xmlReader - Reader on a start element
+	  * @throws XMLStreamException - If the XML is malformed
+	  */
+	private void readDigits(XMLStreamReader xmlReader) throws XMLStreamException
+	{
+		number.reset();
+		int event = xmlReader.next();
+		while (event != XMLStreamConstants.END_ELEMENT)
+		{
+			if (event == XMLStreamConstants.CHARACTERS || 
+					event == XMLStreamConstants.CDATA ||
+					event == XMLStreamConstants.SPACE)
+				number.append(xmlReader.getTextCharacters(), 
+						xmlReader.getTextStart(), xmlReader.getTextLength());
+			event = xmlReader.next();
+		}
+	}
+	
+	/**
+	  * Reads the parts of a Driver element every session
+	  * has (Names, car, player and laps).  Call it for each
+	  * element inside the driver before looking at the rest.
+	  * 
+	  * @param xmlReader - Reader on the start of an element inside the driver
+	  * @param tag - Tag of the element
+	  * @param driver - Driver being read
+	  * @param table - The session's laps, the driver's laps are added to it
+	  * @return True if the element was read, leaving the reader
+	  * 		on its end element.  False if it was left alone.
+	  * @throws XMLStreamException - If the XML is malformed
+	  */
+	protected boolean readDriverDetail(XMLStreamReader xmlReader, Tag tag, Driver driver, 
+			LapTable table) throws XMLStreamException
+	{
+		switch (tag)
+		{
+			case Name:
+				driver.setName(readText(xmlReader));
+				return true;
+			case CarClass:
+				driver.setCarClass(readText(xmlReader));
+				return true;
+			case CarNumber:
+				driver.setCarNumber(readText(xmlReader));
+				return true;
+			case TeamName:
+				driver.setTeamName(readText(xmlReader));
+				return true;
+			case IsPlayer:
+				driver.setPlayer(readInt(xmlReader) != 0);
+				return true;
+			case Lap:
+				parseLap(xmlReader, table);
+				return true;
+			default:
+				return false;
+		}
+	}
+	
+	/**
+	  * Reads a Lap element, attributes by index, 
+	  * into a new row of the lap table, leaving 
+	  * the reader on the end of the element.
+	  * A lap with no time is not completed.
+	  * 
+	  * @param xmlReader - Reader on the start of the Lap element
+	  * @param table - Table to add the lap to
+	  * @throws XMLStreamException - If the XML is malformed
+	  */
+	protected void parseLap(XMLStreamReader xmlReader, LapTable table) throws XMLStreamException
+	{
+		int row = table.addLap();
+		
+		int count = xmlReader.getAttributeCount();
+		for (int i = 0; i < count; i++)
+		{
+			String value = xmlReader.getAttributeValue(i);
+			switch (LapField.lookup(xmlReader.getAttributeLocalName(i)))
+			{
+				case Sector1:
+					table.setSector1(row, RaceTime.parse(value));
+					break;
+				case Sector2:
+					table.setSector2(row, RaceTime.parse(value));
+					break;
+				case Sector3:
+					table.setSector3(row, RaceTime.parse(value));
+					break;
+				case Number:
+					table.setLapNumber(row, Integer.parseInt(value));
+					break;
+				case Position:
+					table.setPosition(row, Integer.parseInt(value));
+					break;
+				case ElapsedTime:
+					table.setStartTime(row, RaceTime.parse(value));
+					break;
+				case Fuel:
+					table.setFuel(row, Float.parseFloat(value));
+					break;
+				case Pit:
+					if (Integer.parseInt(value) == 1)
+						table.setPit(row, true);
+					break;
+				default:
+					break;
+			}
+		}
+		
+		//Record lapTime (Not completed if no time)
+		int time = readTime(xmlReader);
+		if (!RaceTime.isSet(time))
+			table.setCompleted(row, false);
+		else
+			table.setLapTime(row, time);
+	}
+	
+	/**
+	  * Skips the current element and everything inside
+	  * it, leaving the reader on its end element.
+	  * @param xmlReader - Reader on a start element
+	  * @throws XMLStreamException - If the XML is malformed
+	  */
+	protected static void skipElement(XMLStreamReader xmlReader) throws XMLStreamException
+	{
+		int depth = 1;
+		while (depth > 0)
+		{
+			int event = xmlReader.next();
+			if (event == XMLStreamConstants.START_ELEMENT)
+				depth++;
+			else if (event == XMLStreamConstants.END_ELEMENT)
+				depth--;
+		}
+	}
+	
+	/**
+	  * Closes a stream, ignoring any errors 
+	  * (Nothing can be done about them anyway)
+	  * @param in - The stream to close (Can be null)
+	  */
+	protected static void closeStream(InputStream in)
+	{
+		if (in == null)
+			return;
+		
+		try
+		{
+			in.close();
+		}
+		catch (IOException e)
+		{
+			LogFileManager.logPrint(Level.Warning, header, "Could not close stream: "+e.getMessage());
+		}
+	}
+	
 	public String getFilePath()	{	return filepath;	}
 	public void setFilePath(String path)	{	filepath = path;	}
+	
+	/**
+	  * The weekend information found ahead of the
+	  * session element of a results file.
+	  * 
+	  * @author Richard Matthews
+	  */
+	public static final class SessionHeader
+	{
+		private FileType type = FileType.None;
+		private long eventID = -1;
+		private String modName, trackName, eventName;
+		private float trackLength = 0.0f;
+		private int raceLaps = 0, raceMinutes = 0;
+		
+		public FileType getType()	{	return type;	}
+		public long getEventID()	{	return eventID;	}
+		public String getModName()	{	return modName;	}
+		public String getTrackName()	{	return trackName;	}
+		public String getEventName()	{	return eventName;	}
+		public float getTrackLength()	{	return trackLength;	}
+		public int getRaceLaps()	{	return raceLaps;	}
+		public int getRaceMinutes()	{	return raceMinutes;	}
+	}
 }
\ No newline at end of file
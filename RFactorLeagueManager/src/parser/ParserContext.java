@@ -0,0 +1,94 @@
+package parser;
+
+import java.io.InputStream;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import utilities.LogFileManager;
+
+/**
+  * Holds the single XMLInputFactory used by all
+  * of the parsers and hands out parser instances
+  * that can be reused from file to file.  The
+  * factory lookup and setup are only done once
+  * instead of once per file.
+  * <br><br>
+  * Implemented as a singleton.  Safe to use from
+  * several threads, each of which gets its own
+  * session parser.
+  * 
+  * @author Richard Matthews
+  * @version 1 (10-17-2026)
+  */
+public final class ParserContext
+{
+	private static final String header = "ParserContext";
+	private static ParserContext context;
+	private final XMLInputFactory inputFactory;
+	private final ThreadLocal<RFXMLSessionParser> sessionParsers;
+	
+	private ParserContext()
+	{
+		LogFileManager.logPrint(header, "Constructor");
+		
+		//Results files never need the DTD or entities resolved
+		inputFactory = XMLInputFactory.newInstance();
+		inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		inputFactory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, Boolean.FALSE);
+		inputFactory.setProperty(XMLInputFactory.IS_VALIDATING, Boolean.FALSE);
+		inputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE);
+		//The parsers read text a chunk at a time, so coalescing would only add copies
+		inputFactory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+		
+		sessionParsers = new ThreadLocal<RFXMLSessionParser>()
+		{
+			protected RFXMLSessionParser initialValue()
+			{
+				return new RFXMLSessionParser();
+			}
+		};
+	}
+	
+	/**
+	  * The key to singleton, either produces
+	  * the single context or creates it
+	  * @return The only implementation of ParserContext allowed
+	  */
+	public static synchronized ParserContext getContext()
+	{
+		if (context == null)
+			context = new ParserContext();
+		
+		return context;
+	}
+	
+	/**
+	  * Creates a cursor reader for the stream using 
+	  * the shared factory.  The factory is not 
+	  * guaranteed to be thread safe, so creation 
+	  * is serialized (Reading is not).
+	  * 
+	  * @param in - The stream to read
+	  * @return The reader for the stream
+	  * @throws XMLStreamException - If the reader could not be created
+	  */
+	public XMLStreamReader createReader(InputStream in) throws XMLStreamException
+	{
+		synchronized (inputFactory)
+		{
+			return inputFactory.createXMLStreamReader(in);
+		}
+	}
+	
+	/**
+	  * Gets the session parser for the calling thread.
+	  * The same instance is handed back on every call 
+	  * from that thread, so it must not be shared.
+	  * 
+	  * @return The session parser for this thread
+	  */
+	public RFXMLSessionParser getSessionParser()	{	return sessionParsers.get();	}
+}
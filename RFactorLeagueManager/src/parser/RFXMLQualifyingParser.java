@@ -4,21 +4,18 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
 import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.StringTokenizer;
 
-import javax.xml.stream.XMLEventReader;
-import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.events.Attribute;
-import javax.xml.stream.events.StartElement;
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamReader;
 
-import pointStandings.Lap;
+import pointStandings.LapTable;
+import pointStandings.RaceTime;
 import pointStandings.RFDriverQ;
-import pointStandings.RFDriverR;
 import pointStandings.RFQualifyingResults;
 import utilities.LogFileManager;
+import utilities.LogFileManager.Level;
+import utilities.TableWriter;
 
 
 /**
@@ -30,6 +27,7 @@ public class RFXMLQualifyingParser extends Parser
 {
 	private String header = "RFactor XML Qualifying Parser";
 	private final static boolean fullOutput = false;
+	private final StreamDecoder streamDecoder = new StreamDecoder();
 	
 	/**
 	  * Constructor for the parser.  
@@ -58,371 +56,242 @@ public class RFXMLQualifyingParser extends Parser
 		{
 			LogFileManager.replayPrint("No file specified."+
 					System.getProperty("line.separator"));
-			LogFileManager.logPrint(header, "No file specified");
+			LogFileManager.logPrint(Level.Warning, header, "No file specified");
 			
 			return null;
 		}
 		
 		LogFileManager.logPrint(header, "Parsing file");
 		RFQualifyingResults results = null;
+		InputStream in = null;
 		
 		try
 		{
 			//Set up reading an XML file
-			XMLInputFactory inputFactory = XMLInputFactory.newInstance();
-			InputStream in = new FileInputStream(getFilePath());
-			XMLEventReader xmlReader = inputFactory.createXMLEventReader(in);
-
-			//Create a new instance of qualifying results after file has
-			//		been successfully found
-			results = new RFQualifyingResults();
+			in = new FileInputStream(getFilePath());
+			XMLStreamReader xmlReader = ParserContext.getContext().createReader(in);
 			
-			//Read XML File
-			while (xmlReader.hasNext())
+			//Read up to the session and make sure it is qualifying
+			SessionHeader sessionHeader = readHeader(xmlReader);
+			if (sessionHeader.getType() == FileType.Qualifying)
 			{
-		        XMLEvent event = xmlReader.nextEvent();
-		        
-		        //Check start element
-		        if (event.isStartElement())
-		        {
-					StartElement startElement = event.asStartElement();
-
-					// Handle a "DateTime" tag
-					if (startElement.getName().getLocalPart() == "DateTime")
-					{
-						event = xmlReader.nextEvent();
-						long id = Long.parseLong(event.asCharacters().getData());
-						results.setEventID(id);
-//						LogFileManager.replayPrint("Event ID: "+results.getEventID()+
-//								System.getProperty("line.separator"));
-						xmlReader.nextEvent();//Burn the end element
-					}
-					
-					// Handle a "Mod" tag
-					if (startElement.getName().getLocalPart() == "Mod")
-					{
-						event = xmlReader.nextEvent();
-						String mod = event.asCharacters().getData();
-							//Parse out the .rfm at the end
-						StringTokenizer tokens = new StringTokenizer(mod, ".");
-						results.setModName(tokens.nextToken());
-						LogFileManager.replayPrint(results.getModName()+
-								System.getProperty("line.separator"));
-						xmlReader.nextEvent();//Burn the end element
-					}
-					
-					// Handle a "TrackVenue" tag
-					if (startElement.getName().getLocalPart() == "TrackVenue")
-					{
-						event = xmlReader.nextEvent();
-						results.setTrackName(event.asCharacters().getData());
-						LogFileManager.replayPrint(results.getTrackName()+
-								System.getProperty("line.separator"));
-						xmlReader.nextEvent();//Burn the end element
-					}
-					
-					// Handle a "TrackEvent" tag
-					if (startElement.getName().getLocalPart() == "TrackEvent")
-					{
-						event = xmlReader.nextEvent();
-						results.setEventName(event.asCharacters().getData());
-						LogFileManager.replayPrint(results.getEventName()+
-								System.getProperty("line.separator"));
-						xmlReader.nextEvent();//Burn the end element
-					}
-					
-					// Handle a "TrackLength" tag
-					if (startElement.getName().getLocalPart() == "TrackLength")
-					{
-						event = xmlReader.nextEvent();
-						results.setTrackLength(Float.parseFloat(event.asCharacters().getData())/1000);
-						LogFileManager.replayPrint(results.getTrackLength()+" km"+
-								System.getProperty("line.separator"));
-						xmlReader.nextEvent();//Burn the end element
-					}
-					
-					// Handle a "Laps" tag
-					if (startElement.getName().getLocalPart() == "Laps")
-					{
-						event = xmlReader.nextEvent();
-						results.setMaxLaps(Integer.parseInt(event.asCharacters().getData()));
-						LogFileManager.replayPrint(results.getMaxLaps() + 
-								" lap maximum"+System.getProperty("line.separator"));
-						xmlReader.nextEvent();//Burn the end element
-					}
-					
-					// Handle a "Minutes" tag
-					if (startElement.getName().getLocalPart() == "Minutes")
-					{
-						event = xmlReader.nextEvent();
-						results.setMaxTime(Integer.parseInt(event.asCharacters().getData()));
-						LogFileManager.replayPrint(results.getMaxTime() + 
-								" minute maximum"+System.getProperty("line.separator"));
-						xmlReader.nextEvent();//Burn the end element
-					}
-					
-					// Handle a "Driver" tag
-					if (startElement.getName().getLocalPart() == "Driver")
-					{
-						RFDriverQ driver = new RFDriverQ();
-							//Temp vars for this driver
-						boolean isPlayer = false;
-						LinkedList<Lap> tempLaps = new LinkedList<Lap>();
-						int pos = 0, classPos = 0;
-						
-						//Get next item
-				        event = xmlReader.nextEvent();
-				        
-				        //Check for end driver tag (Which it shouldn't be)
-				        boolean endElement = event.isEndElement();
-				        String title = "";
-				        if (endElement)
-				        	title = event.asEndElement().getName().getLocalPart();
-				        
-				        //Check tag
-						while(title != "Driver")
-						{
-							if (event.isStartElement())
-							{
-								StartElement element = event.asStartElement();
-								
-								// Handle "Name" tag
-								if (element.getName().getLocalPart() == "Name")
-								{
-									event = xmlReader.nextEvent();
-									driver.setName(event.asCharacters().getData());
-									xmlReader.nextEvent();//Burn the end element
-								}
-								
-								// Handle "CarClass" tag
-								if (element.getName().getLocalPart() == "CarClass")
-								{
-									event = xmlReader.nextEvent();
-									driver.setCarClass(event.asCharacters().getData());
-									xmlReader.nextEvent();//Burn the end element
-								}
-								
-								// Handle "CarNumber" tag
-								if (element.getName().getLocalPart() == "CarNumber")
-								{
-									event = xmlReader.nextEvent();
-									driver.setCarNumber(event.asCharacters().getData());
-									xmlReader.nextEvent();//Burn the end element
-								}
-								
-								// Handle "TeamName" tag
-								if (element.getName().getLocalPart() == "TeamName")
-								{
-									event = xmlReader.nextEvent();
-									driver.setTeamName(event.asCharacters().getData());
-									xmlReader.nextEvent();//Burn the end element
-								}
-								
-								// Handle "Position" tag
-								if (element.getName().getLocalPart() == "Position")
-								{
-									event = xmlReader.nextEvent();
-									pos = Integer.parseInt(event.asCharacters().getData());
-									xmlReader.nextEvent();//Burn the end element
-								}
-								
-								// Handle "ClassPosition" tag
-								if (element.getName().getLocalPart() == "ClassPosition")
-								{
-									event = xmlReader.nextEvent();
-									classPos = Integer.parseInt(event.asCharacters().getData());
-									xmlReader.nextEvent();//Burn the end element
-								}
-								
-								// Handle "isPlayer" tag
-								if (element.getName().getLocalPart() == "isPlayer")
-								{
-									event = xmlReader.nextEvent();
-									if (Integer.parseInt(event.asCharacters().getData()) == 0)
-										isPlayer = false;
-									else
-										isPlayer = true;
-									driver.setPlayer(isPlayer);
-									xmlReader.nextEvent();//Burn the end element
-								}
-								
-								// Handle "Lap" tag
-								if (element.getName().getLocalPart() == "Lap")
-								{
-									Lap lap = new Lap();
-									lap.setCompleted(false);
-									
-									@SuppressWarnings("unchecked")
-									Iterator<Attribute> attributes = element.getAttributes();
-									while (attributes.hasNext())
-									{
-										Attribute attribute = attributes.next();
-										
-										//If sector 1...
-										if (attribute.getName().toString().equals("s1"))
-											lap.setSector1(Float.parseFloat(attribute.getValue()));
-										
-										//If sector 2...
-										if (attribute.getName().toString().equals("s2"))
-											lap.setSector2(Float.parseFloat(attribute.getValue()));
-										
-										//If sector 3...
-										if (attribute.getName().toString().equals("s3"))
-											lap.setSector3(Float.parseFloat(attribute.getValue()));
-
-										//If lap number...
-										if (attribute.getName().toString().equals("num"))
-											lap.setLapNumber(Integer.parseInt(attribute.getValue()));
-										
-										//If position...
-										if (attribute.getName().toString().equals("p"))
-											lap.setPosition(Integer.parseInt(attribute.getValue()));
-
-										//If lap number...
-										if (attribute.getName().toString().equals("et"))
-										{
-											String time = attribute.getValue();
-											if (time.charAt(1) != '-')
-												lap.setStartTime(Float.parseFloat(time));
-											else
-												lap.setStartTime(0.0f);
-										}
-
-										//If fuel...
-										if (attribute.getName().toString().equals("fuel"))
-											lap.setFuel(Float.parseFloat(attribute.getValue()));
-										
-										//If pit...
-										if (attribute.getName().toString().equals("pit"))
-										{
-											if (Integer.parseInt(attribute.getValue()) == 1)
-												lap.setPit(true);
-										}
-									}
-									
-									//Get time for the lap
-									event = xmlReader.nextEvent();
-									
-									//Record lapTime
-									String time = event.asCharacters().getData();
-									//If no time
-									if (time.charAt(1) == '-')
-										lap.setCompleted(false);
-									else
-										lap.setLapTime(Float.parseFloat(time));
-									tempLaps.add(lap);
-									xmlReader.nextEvent();//Burn the end element
-								}
-								
-								// Handle "FinishStatus" tag
-								if (element.getName().getLocalPart() == "FinishStatus")
-								{
-									event = xmlReader.nextEvent();
-									Lap[] laps = new Lap[tempLaps.size()];
-									laps = tempLaps.toArray(laps);
-									driver.submitTimes(laps);
-									String status = event.asCharacters().getData();
-									if (driver.getTimedLapCount() == 0)
-										driver.submitTimes(status);
-									xmlReader.nextEvent();//Burn the end element
-								}
-							}
-							
-							//Get next tag
-					        event = xmlReader.nextEvent();
-					        endElement = event.isEndElement();
-					        if (endElement)
-					        	title = event.asEndElement().getName().getLocalPart();
-						}//End driver tag reader
-						
-						//Finish and add driver
-						driver.setClassPosition(classPos);
-						driver.setPosition(pos);
-						results.addDriver(driver);
-					}//End driver
-		        }//End read start element
-			}//End XML Reading
-			
-			//Driver Header
-			if (!fullOutput)
-				LogFileManager.replayPrint("Pos  Cla  Laps   Time     "+
-					"Dream     Name                    Team                   "+
-					"    Class        Behind"+System.getProperty("line.separator"));
-			
-			//Driver output
-			Iterator<RFDriverQ> iterator = results.getDriverIterator();
-			while(iterator.hasNext())
-			{
-				RFDriverQ driver = iterator.next();
-				
-				if (fullOutput)
-				{
-					LogFileManager.replayPrint("          Laps:    Fastest:  "+
-						driver.getFastestTime()+" sec    Dream:  "+driver.getDreamLap()+
-						" sec    Average:  "+driver.getAverageLap()+
-						" sec"+System.getProperty("line.separator"));
-				}
-				else
-				{
-					//Built attribute by attribute
-					String driverLine = " "+driver.getOverallPosition();
-					driverLine = addWhiteSpace(driverLine, 6-driverLine.length());
-					driverLine = driverLine.concat(driver.getClassPosition()+"");
-					driverLine = addWhiteSpace(driverLine, 11-driverLine.length());
-					driverLine = driverLine.concat(driver.getTimedLapCount()+"");
-					driverLine = addWhiteSpace(driverLine, 16-driverLine.length());
-					driverLine = driverLine.concat(RFDriverR.shortenTime(driver.getFastestTime())+"");
-					driverLine = addWhiteSpace(driverLine, 25-driverLine.length());
-					driverLine = driverLine.concat(RFDriverR.shortenTime(driver.getDreamLap())+"");
-					driverLine = addWhiteSpace(driverLine, 36-driverLine.length());
-					driverLine = driverLine.concat(driver.getName()+"");
-					driverLine = addWhiteSpace(driverLine, 60-driverLine.length());
-					driverLine = driverLine.concat(driver.getTeamName()+"");
-					driverLine = addWhiteSpace(driverLine, 87-driverLine.length());
-					driverLine = driverLine.concat(driver.getCarClass()+"");
-					driverLine = addWhiteSpace(driverLine, 98-driverLine.length());
-					driverLine = driverLine.concat("  "+results.findDifference(driver));
-					LogFileManager.replayPrint(driverLine+System.getProperty("line.separator"));
-				}
+				results = parseSession(xmlReader, sessionHeader);
+				printResults(results);
 			}
-			
-			//TODO Proper post-session analysis
-			LogFileManager.replayPrint("Session results:"+System.getProperty("line.separator"));
-				//Sector times
-			for (int i = 1; i < 4; i++)
-			{
-				RFDriverQ driver = results.getSectorDriver(i);
-				LogFileManager.replayPrint("Fastest Sector "+i+":  "+driver.getSectorTime(i)+" sec by "+
-						driver.getName()+System.getProperty("line.separator"));
-			}
-			LogFileManager.replayPrint("Overall Dream Lap:  "+
-					results.getDreamLap()+" sec"+System.getProperty("line.separator"));
+			else
+				LogFileManager.logPrint(Level.Warning, header, "Not a qualifying file");
+			xmlReader.close();
 		}
 		catch (FileNotFoundException e)
 		{
 			e.printStackTrace();
 			results = null;
-	    }
+		}
 		catch (XMLStreamException e)
-	    {
+		{
 			e.printStackTrace();
 			results = null;
-	    }
+		}
+		finally
+		{
+			closeStream(in);
+		}
+		
+		return results;
+	}
+	
+	/**
+	  * Parses the rest of a qualifying session from a 
+	  * reader positioned just after the Qualify element 
+	  * (See Parser.readHeader).  The reader is not closed.
+	  * 
+	  * @param xmlReader - Reader positioned inside the session
+	  * @param sessionHeader - Weekend information read ahead of the session
+	  * @return The results of the parsed session
+	  * @throws XMLStreamException - If the XML is malformed
+	  */
+	public RFQualifyingResults parseSession(XMLStreamReader xmlReader, 
+			SessionHeader sessionHeader) throws XMLStreamException
+	{
+		RFQualifyingResults results = new RFQualifyingResults();
+		
+		//Weekend information
+		results.setEventID(sessionHeader.getEventID());
+		if (sessionHeader.getModName() != null)
+			results.setModName(sessionHeader.getModName());
+		if (sessionHeader.getTrackName() != null)
+			results.setTrackName(sessionHeader.getTrackName());
+		if (sessionHeader.getEventName() != null)
+			results.setEventName(sessionHeader.getEventName());
+		results.setTrackLength(sessionHeader.getTrackLength());
+		
+		//Read XML File
+		while (xmlReader.hasNext())
+		{
+			//Only start elements are of interest here
+			if (xmlReader.next() != XMLStreamConstants.START_ELEMENT)
+				continue;
+			
+			switch (Tag.lookup(xmlReader.getLocalName()))
+			{
+				case Laps:
+					results.setMaxLaps(readInt(xmlReader));
+					break;
+				
+				case Minutes:
+					results.setMaxTime(readInt(xmlReader));
+					break;
+				
+				//Laps crossed and contact (See StreamDecoder)
+				case Stream:
+					streamDecoder.decode(xmlReader, results.getEventLog());
+					break;
+				
+				case Driver:
+					results.addDriver(parseDriver(xmlReader, results.getLapTable()));
+					break;
+				
+				default:
+					break;
+			}
+		}//End XML Reading
+		results.freeze();
 		
 		return results;
 	}
 	
 	/**
-	  * Adds (numToAdd) spaces to string
-	  * @param out - String to add spaces to
-	  * @param numToAdd - Number of spaces to add
-	  * @return String after adding spaces
+	  * Prints the session report for the qualifying
+	  * results to the replay file.
+	  * 
+	  * @param results - The results to print
 	  */
-	private String addWhiteSpace(String out, int numToAdd)
+	public void printResults(RFQualifyingResults results)
 	{
-		for (int i = 0; i < numToAdd; i++)
-			out = out.concat(" ");
+		TableWriter table = new TableWriter(LogFileManager.getReplayOutput());
+		
+		//Weekend information
+		if (results.getModName().length() > 0)
+			LogFileManager.replayPrint(results.getModName()+
+					System.getProperty("line.separator"));
+		if (results.getTrackName().length() > 0)
+			LogFileManager.replayPrint(results.getTrackName()+
+					System.getProperty("line.separator"));
+		if (results.getEventName().length() > 0)
+			LogFileManager.replayPrint(results.getEventName()+
+					System.getProperty("line.separator"));
+		LogFileManager.replayPrint(results.getTrackLength()+" km"+
+				System.getProperty("line.separator"));
+		LogFileManager.replayPrint(results.getMaxLaps() + 
+				" lap maximum"+System.getProperty("line.separator"));
+		LogFileManager.replayPrint(results.getMaxTime() + 
+				" minute maximum"+System.getProperty("line.separator"));
+		
+		//Driver Header
+		if (!fullOutput)
+			LogFileManager.replayPrint("Pos  Cla  Laps   Time     "+
+				"Dream     Name                    Team                   "+
+				"    Class        Behind"+System.getProperty("line.separator"));
+		
+		//Driver output
+		Iterator<RFDriverQ> iterator = results.getDriverIterator();
+		while(iterator.hasNext())
+		{
+			RFDriverQ driver = iterator.next();
+			
+			if (fullOutput)
+			{
+				LogFileManager.replayPrint("          Laps:    Fastest:  "+
+					RaceTime.format(driver.getFastestRaceTime())+" sec    Dream:  "+
+					RaceTime.format(driver.getDreamRaceTime())+
+					" sec    Average:  "+driver.getAverageLap()+
+					" sec"+System.getProperty("line.separator"));
+			}
+			else
+			{
+				//Built attribute by attribute
+				table.print(" ").print(driver.getOverallPosition())
+						.print(6, driver.getClassPosition())
+						.print(11, driver.getTimedLapCount())
+						.print(16, RaceTime.format(driver.getFastestRaceTime()))
+						.print(25, RaceTime.format(driver.getDreamRaceTime()))
+						.print(36, driver.getName())
+						.print(60, driver.getTeamName())
+						.print(87, driver.getCarClass())
+						.print(98, "  "+results.findDifference(driver)).endLine();
+			}
+		}
+		
+		//TODO Proper post-session analysis
+		LogFileManager.replayPrint("Session results:"+System.getProperty("line.separator"));
+			//Sector times
+		for (int i = 1; i < 4; i++)
+		{
+			RFDriverQ driver = results.getSectorDriver(i);
+			LogFileManager.replayPrint("Fastest Sector "+i+":  "+RaceTime.format(driver.getSectorRaceTime(i))+" sec by "+
+					driver.getName()+System.getProperty("line.separator"));
+		}
+		LogFileManager.replayPrint("Overall Dream Lap:  "+
+				RaceTime.format(results.getDreamRaceTime())+" sec"+System.getProperty("line.separator"));
+	}
+	
+	/**
+	  * Reads a Driver element, leaving the reader
+	  * on the end of the element.
+	  * 
+	  * @param xmlReader - Reader on the start of the Driver element
+	  * @param table - The session's laps, the driver's laps are added to it
+	  * @return The driver read
+	  * @throws XMLStreamException - If the XML is malformed
+	  */
+	private RFDriverQ parseDriver(XMLStreamReader xmlReader, LapTable table) throws XMLStreamException
+	{
+		RFDriverQ driver = new RFDriverQ();
+			//Temp vars for this driver
+		int firstLap = table.size();
+		int pos = 0, classPos = 0;
+		
+		//Check tags until the end of the driver
+		int depth = 1;
+		while (depth > 0)
+		{
+			int event = xmlReader.next();
+			if (event == XMLStreamConstants.END_ELEMENT)
+			{
+				depth--;
+				continue;
+			}
+			if (event != XMLStreamConstants.START_ELEMENT)
+				continue;
+			
+			Tag tag = Tag.lookup(xmlReader.getLocalName());
+			if (readDriverDetail(xmlReader, tag, driver, table))
+				continue;
+			switch (tag)
+			{
+				case Position:
+					pos = readInt(xmlReader);
+					break;
+				case ClassPosition:
+					classPos = readInt(xmlReader);
+					break;
+				case FinishStatus:
+					driver.submitTimes(table, firstLap, table.size()-firstLap);
+					String status = readText(xmlReader);
+					if (driver.getTimedLapCount() == 0)
+						driver.submitTimes(status);
+					break;
+				default:
+					//Not tracked, so step into it
+					depth++;
+					break;
+			}
+		}//End driver tag reader
+		
+		//Finish driver
+		driver.setClassPosition(classPos);
+		driver.setPosition(pos);
 		
-		return out;
+		return driver;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,205 @@
+package parser;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import pointStandings.RFQualifyingResults;
+import pointStandings.RFRaceResults;
+import pointStandings.Results;
+import utilities.LogFileManager;
+import utilities.LogFileManager.Level;
+
+/**
+  * Parses any rFactor XML results file in a single
+  * read.  The file type is picked from the first 
+  * session element and the open stream is handed 
+  * to the matching session parser.
+  * 
+  * @author Richard Matthews
+  * @version 1 (10-17-2026)
+  */
+public class RFXMLSessionParser extends Parser
+{
+	private String header = "RFactor XML Session Parser";
+	private FileType type;
+	private RFXMLRaceParser raceParser;//Reused from file to file
+	private RFXMLQualifyingParser qualifyingParser;//Reused from file to file
+	
+	/**
+	  * Constructor for a reusable parser.  Set the file
+	  * path or use parseFile(String) before parsing.
+	  * See ParserContext.getSessionParser().
+	  */
+	public RFXMLSessionParser()	{	this(null);	}
+	
+	/**
+	  * Constructor being fed a file path to read from.
+	  * 
+	  * @param file - The path to the file to read
+	  */
+	public RFXMLSessionParser(String file)
+	{
+		setFilePath(file);
+		type = FileType.None;
+		raceParser = null;
+		qualifyingParser = null;
+		LogFileManager.logPrint(header, "Constructor");
+	}
+	
+	/**
+	  * Parses the file at the path given, replacing
+	  * the path this parser was set up with.
+	  * 
+	  * @param file - The path to the file to read
+	  * @return The results of the session (See parseFile())
+	  */
+	public Results parseFile(String file)
+	{
+		setFilePath(file);
+		return parseFile();
+	}
+	
+	/**
+	  * Parses the file into the results for
+	  * whichever session it holds and prints
+	  * the session report.
+	  * 
+	  * @return The results of the session, or null if the
+	  * 	file could not be read or the session type is
+	  * 	not supported
+	  */
+	public Results parseFile()
+	{
+		Results results = readFile();
+		if (results != null)
+			printResults(results);
+		
+		return results;
+	}
+	
+	/**
+	  * Reads the file at the path given without printing
+	  * anything to the replay file, so several files can
+	  * be read at once (One parser per thread).
+	  * 
+	  * @param file - The path to the file to read
+	  * @return The results of the session (See parseFile())
+	  */
+	public Results readFile(String file)
+	{
+		setFilePath(file);
+		return readFile();
+	}
+	
+	/**
+	  * Prints the session report for the results
+	  * to the replay file.
+	  * 
+	  * @param results - Race or qualifying results
+	  */
+	public void printResults(Results results)
+	{
+		if (results instanceof RFQualifyingResults)
+		{
+			if (qualifyingParser == null)
+				qualifyingParser = new RFXMLQualifyingParser(getFilePath());
+			qualifyingParser.printResults((RFQualifyingResults) results);
+		}
+		
+		if (results instanceof RFRaceResults)
+		{
+			if (raceParser == null)
+				raceParser = new RFXMLRaceParser(getFilePath());
+			raceParser.printResults((RFRaceResults) results);
+		}
+	}
+	
+	/**
+	  * Reads the file into the results for
+	  * whichever session it holds.
+	  * 
+	  * @return The results of the session (See parseFile())
+	  */
+	private Results readFile()
+	{
+		//Handle null file path
+		if (getFilePath() == null)
+		{
+			LogFileManager.replayPrint("No file specified."+
+					System.getProperty("line.separator"));
+			LogFileManager.logPrint(Level.Warning, header, "No file specified");
+			
+			return null;
+		}
+		
+		LogFileManager.logPrint(header, "Parsing file");
+		Results results = null;
+		InputStream in = null;
+		
+		try
+		{
+			//Set up reading an XML file
+			in = new FileInputStream(getFilePath());
+			XMLStreamReader xmlReader = ParserContext.getContext().createReader(in);
+			
+			//Find the session, then pass the stream along
+			SessionHeader sessionHeader = readHeader(xmlReader);
+			type = sessionHeader.getType();
+			
+			if (type == FileType.Practice || type == FileType.Test ||
+					type == FileType.Warmup)
+			{
+				System.out.println(type+": Not implemented yet");
+			}
+			
+			if (type == FileType.Qualifying)
+			{
+				if (qualifyingParser == null)
+					qualifyingParser = new RFXMLQualifyingParser(getFilePath());
+				qualifyingParser.setFilePath(getFilePath());
+				results = qualifyingParser.parseSession(xmlReader, sessionHeader);
+			}
+			
+			if (type == FileType.Race)
+			{
+				if (raceParser == null)
+					raceParser = new RFXMLRaceParser(getFilePath());
+				raceParser.setFilePath(getFilePath());
+				results = raceParser.parseSession(xmlReader, sessionHeader);
+			}
+			
+			if (type == FileType.None)
+			{
+				System.out.println("Not an XML file");
+			}
+			
+			xmlReader.close();
+		}
+		catch (FileNotFoundException e)
+		{
+			e.printStackTrace();
+			results = null;
+		}
+		catch (XMLStreamException e)
+		{
+			e.printStackTrace();
+			results = null;
+		}
+		finally
+		{
+			closeStream(in);
+		}
+		
+		return results;
+	}
+	
+	/**
+	  * Gets the type of the last file parsed
+	  * @return The file type (None if not parsed or unknown)
+	  */
+	public FileType getFileType()	{	return type;	}
+}
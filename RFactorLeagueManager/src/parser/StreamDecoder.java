@@ -0,0 +1,305 @@
+package parser;
+
+import java.util.Arrays;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import pointStandings.EventLog;
+import pointStandings.EventLog.Kind;
+import pointStandings.RaceTime;
+
+/**
+  * Decodes the Score and Incident records of a session's
+  * Stream into an EventLog.  The text of each record is
+  * gathered into one reused buffer and picked apart in
+  * place.  The only Strings made are each record's et
+  * attribute (The reader has no other way to give it)
+  * and a driver's name the first time its slot is seen.
+  * <br><br>
+  * Each record's time is the et= in its text when there
+  * is one, to the thousandth (Crossings).  Records with
+  * no et= in their text (Yellow flags, incidents) use the
+  * et attribute, rounded to a tenth.  The attribute is
+  * only turned into a time when it is needed.
+  * <br><br>
+  * Records read:<br>
+  *   Score:    Name(slot) lap=N point=N t=time et=time<br>
+  *   Score:    Yellow flag state N-&gt;N<br>
+  *   Incident: Name(slot) reported contact (impact) with another vehicle Name(slot)<br>
+  *   Incident: Name(slot) reported contact (impact) with Immovable<br>
+  * Anything else (Checkered, chat, etc) is skipped.  Contact is
+  * given the lap of the driver's last crossing.
+  * <br><br>
+  * Meant to be reused by a single parser, so it is not thread safe.
+  * 
+  * @author Richard Matthews
+  * @version 1 (10-17-2026)
+  */
+final class StreamDecoder
+{
+	private static final char[] lapField = " lap=".toCharArray();
+	private static final char[] pointField = " point=".toCharArray();
+	private static final char[] timeField = " t=".toCharArray();
+	private static final char[] elapsedField = " et=".toCharArray();
+	private static final char[] yellowFlag = "Yellow flag state ".toCharArray();
+	private static final char[] contact = " reported contact (".toCharArray();
+	private static final char[] vehicle = ") with another vehicle ".toCharArray();
+	private final NumberReader number = new NumberReader();
+	private char[] text = new char[256];
+	private int length;
+	private int end;//Where the last field read stopped
+	private int[] slotLaps = new int[32];//Slot -> lap of its last crossing
+	
+	/**
+	  * Reads the records of a Stream element, leaving the
+	  * reader on the end of the Stream element
+	  * 
+	  * @param xmlReader - Reader on the start of the Stream element
+	  * @param log - Log to add the events to
+	  * @return Number of events added
+	  * @throws XMLStreamException - If the XML is malformed
+	  */
+	public int decode(XMLStreamReader xmlReader, EventLog log) throws XMLStreamException
+	{
+		Arrays.fill(slotLaps, EventLog.NONE);
+		int added = 0;
+		int depth = 1;
+		while (depth > 0)
+		{
+			int event = xmlReader.next();
+			if (event == XMLStreamConstants.END_ELEMENT)
+				depth--;
+			else if (event == XMLStreamConstants.START_ELEMENT)
+			{
+				Parser.Tag tag = Parser.Tag.lookup(xmlReader.getLocalName());
+				if (tag != Parser.Tag.Score && tag != Parser.Tag.Incident)
+				{
+					Parser.skipElement(xmlReader);
+					continue;
+				}
+				
+				//Attributes are gone once the text is read
+				String elapsed = xmlReader.getAttributeValue(null, "et");
+				readText(xmlReader);
+				if ((tag == Parser.Tag.Score) ? decodeScore(elapsed, log) : 
+						decodeIncident(attributeTime(elapsed), log))
+					added++;
+			}
+		}
+		
+		return added;
+	}
+	
+	/**
+	  * Gathers the text of the current element into
+	  * the buffer, leaving the reader on its end element
+	  */
+	private void readText(XMLStreamReader xmlReader) throws XMLStreamException
+	{
+		length = 0;
+		int event = xmlReader.next();
+		while (event != XMLStreamConstants.END_ELEMENT)
+		{
+			if (event == XMLStreamConstants.CHARACTERS ||
+					event == XMLStreamConstants.CDATA ||
+					event == XMLStreamConstants.SPACE)
+			{
+				int count = xmlReader.getTextLength();
+				if (length+count > text.length)
+					text = Arrays.copyOf(text, Math.max(length+count, text.length*2));
+				System.arraycopy(xmlReader.getTextCharacters(), xmlReader.getTextStart(), text, length, count);
+				length += count;
+			}
+			else if (event == XMLStreamConstants.START_ELEMENT)
+				Parser.skipElement(xmlReader);
+			event = xmlReader.next();
+		}
+	}
+	
+	/**
+	  * Reads the et attribute of a record
+	  * @param elapsed - The attribute (null if not there)
+	  * @return The time, or RaceTime.NONE if missing or not a time
+	  */
+	private static int attributeTime(String elapsed)
+	{
+		return (elapsed == null) ? RaceTime.NONE : RaceTime.parse(elapsed);
+	}
+	
+	/**
+	  * Decodes a lap crossing or yellow flag change
+	  * @param elapsed - The record's et attribute, used if the text has no et=
+	  * @return True if an event was added
+	  */
+	private boolean decodeScore(String elapsed, EventLog log)
+	{
+		if (startsWith(yellowFlag))
+		{
+			int from = readInt(yellowFlag.length);
+			if (from == EventLog.NONE || end+2 > length || text[end] != '-' || text[end+1] != '>')
+				return false;
+			int to = readInt(end+2);
+			if (to == EventLog.NONE)
+				return false;
+			
+			log.add(attributeTime(elapsed), Kind.Flag, EventLog.NONE, EventLog.NONE, EventLog.NONE, to, from);
+			return true;
+		}
+		
+		int lapAt = indexOf(lapField, 0);
+		if (lapAt < 0)
+			return false;
+		int slot = readSlot(0, lapAt, log);
+		if (slot == EventLog.NONE)
+			return false;
+		
+		int lap = readInt(lapAt+lapField.length);
+		int pointAt = indexOf(pointField, end);
+		int point = (pointAt < 0) ? EventLog.NONE : readInt(pointAt+pointField.length);
+		int timeAt = indexOf(timeField, end);
+		int lapTime = (timeAt < 0) ? RaceTime.NONE : readTime(timeAt+timeField.length);
+		int elapsedAt = indexOf(elapsedField, end);
+		int time = (elapsedAt < 0) ? RaceTime.NONE : readTime(elapsedAt+elapsedField.length);
+		if (!RaceTime.isSet(time))
+			time = attributeTime(elapsed);
+		
+		if (slot >= slotLaps.length)
+		{
+			int old = slotLaps.length;
+			slotLaps = Arrays.copyOf(slotLaps, Math.max(slot+1, old*2));
+			Arrays.fill(slotLaps, old, slotLaps.length, EventLog.NONE);
+		}
+		slotLaps[slot] = lap;
+		log.add(time, Kind.Crossing, slot, lap, point, lapTime, EventLog.NONE);
+		return true;
+	}
+	
+	/**
+	  * Decodes a contact report
+	  * @return True if an event was added
+	  */
+	private boolean decodeIncident(int time, EventLog log)
+	{
+		int contactAt = indexOf(contact, 0);
+		if (contactAt < 0)
+			return false;
+		int slot = readSlot(0, contactAt, log);
+		if (slot == EventLog.NONE)
+			return false;
+		
+		int impactStart = contactAt+contact.length;
+		int impactEnd = impactStart;
+		while (impactEnd < length && text[impactEnd] != ')')
+			impactEnd++;
+		number.reset();
+		number.append(text, impactStart, impactEnd-impactStart);
+		int impact = EventLog.toImpact(number.toDouble());
+		
+		int lap = (slot < slotLaps.length) ? slotLaps[slot] : EventLog.NONE;
+		int vehicleAt = indexOf(vehicle, impactEnd);
+		if (vehicleAt != impactEnd)
+		{
+			log.add(time, Kind.Impact, slot, lap, EventLog.NONE, impact, EventLog.NONE);
+			return true;
+		}
+		
+		//Other driver's slot closes the record
+		int close = length-1;
+		while (close > vehicleAt && text[close] != ')')
+			close--;
+		int other = readSlot(vehicleAt+vehicle.length, close+1, log);
+		log.add(time, Kind.Contact, slot, lap, EventLog.NONE, impact, other);
+		return true;
+	}
+	
+	/**
+	  * Reads the slot in "Name(slot)", and gives the log
+	  * the name the first time the slot is seen
+	  * 
+	  * @param nameStart - Position of the name
+	  * @param after - Position just after the closing bracket
+	  * @return The slot, or EventLog.NONE if not there
+	  */
+	private int readSlot(int nameStart, int after, EventLog log)
+	{
+		int close = after-1;
+		if (close <= nameStart || text[close] != ')')
+			return EventLog.NONE;
+		int open = close-1;
+		while (open > nameStart && text[open] >= '0' && text[open] <= '9')
+			open--;
+		if (open == close-1 || text[open] != '(')
+			return EventLog.NONE;
+		
+		int slot = readInt(open+1);
+		if (!log.hasDriverName(slot))
+			log.setDriverName(slot, new String(text, nameStart, open-nameStart).trim());
+		
+		return slot;
+	}
+	
+	/**
+	  * Reads a whole number, setting end to just after it
+	  * @param start - Position of the first digit
+	  * @return The number, or EventLog.NONE if there are no digits
+	  */
+	private int readInt(int start)
+	{
+		int value = 0;
+		end = start;
+		while (end < length && text[end] >= '0' && text[end] <= '9')
+			value = value*10+(text[end++]-'0');
+		
+		return (end == start) ? EventLog.NONE : value;
+	}
+	
+	/**
+	  * Reads a time up to the next space, setting end to just after it
+	  * @param start - Position of the time
+	  * @return The time, or RaceTime.NONE if not a positive time
+	  */
+	private int readTime(int start)
+	{
+		end = start;
+		while (end < length && text[end] != ' ')
+			end++;
+		number.reset();
+		number.append(text, start, end-start);
+		
+		return number.toTime();
+	}
+	
+	private boolean startsWith(char[] word)
+	{
+		if (word.length > length)
+			return false;
+		for (int i = 0; i < word.length; i++)
+			if (text[i] != word[i])
+				return false;
+		
+		return true;
+	}
+	
+	/**
+	  * Finds a word in the buffer
+	  * @param word - Word to find
+	  * @param from - Position to start looking at
+	  * @return Position of the word, or -1 if not found
+	  */
+	private int indexOf(char[] word, int from)
+	{
+		int last = length-word.length;
+		for (int i = from; i <= last; i++)
+		{
+			int j = 0;
+			while (j < word.length && text[i+j] == word[j])
+				j++;
+			if (j == word.length)
+				return i;
+		}
+		
+		return -1;
+	}
+}
@@ -0,0 +1,85 @@
+package pointStandings;
+
+import pointStandings.EventLog.Kind;
+import utilities.LogFileManager;
+import utilities.LogFileManager.Level;
+
+/**
+  * Finds the caution periods of a race from the yellow
+  * flag changes in its EventLog, in one pass over the log.
+  * <br><br>
+  * rFactor steps the yellow flag state through 1 (Pending),
+  * 2 (Pits closed), 3 (Pit lead lap), 4 (Pits open),
+  * 5 (Last lap), 6 (Resume) and back to 0 (Green).  A caution
+  * runs from the leader's lap when the state leaves 0 to the
+  * leader's lap when it returns.  A yellow that goes back to
+  * green without the pits closing is not a caution.  A race
+  * ending under yellow ends its caution on the last lap run.
+  * <br><br>
+  * The leader's lap is followed from the crossings, a
+  * crossing of "lap=N" puts the car on lap N+1.
+  * 
+  * @author Richard Matthews
+  * @version 1 (10-17-2026)
+  */
+public final class CautionDetector
+{
+	private static final String header = "Caution Detector";
+	private static final int pitsClosed = 2;//First state of a full course caution
+	
+	private CautionDetector()	{}
+	
+	/**
+	  * Adds each caution in the results' event log to the results
+	  * @param results - Race to find the cautions of
+	  * @return Number of cautions added
+	  */
+	public static int findCautions(RFRaceResults results)
+	{
+		EventLog log = results.getEventLog();
+		int leaderLap = 0;//Lap the leader is on
+		int start = -1;//Leader's lap when the yellow came out, -1 when green
+		boolean fullCourse = false;
+		int added = 0;
+		
+		for (int i = 0; i < log.size(); i++)
+		{
+			Kind kind = log.getKind(i);
+			if (kind == Kind.Crossing)
+			{
+				if (log.getLap(i) >= leaderLap)
+					leaderLap = log.getLap(i)+1;
+			}
+			else if (kind == Kind.Flag)
+			{
+				int state = log.getValue(i);
+				if (state != 0 && start == -1)
+				{
+					start = leaderLap;
+					fullCourse = false;
+				}
+				if (state >= pitsClosed)
+					fullCourse = true;
+				if (state == 0 && start != -1)
+				{
+					if (fullCourse && add(results, start, leaderLap))
+						added++;
+					start = -1;
+				}
+			}
+		}
+		
+		//Finished under yellow
+		if (start != -1 && fullCourse && add(results, start, Math.max(start, leaderLap-1)))
+			added++;
+		
+		return added;
+	}
+	
+	private static boolean add(RFRaceResults results, final int start, final int end)
+	{
+		LogFileManager.logPrint(Level.Debug, header, () -> "Caution from lap "+start+
+				" to lap "+end);
+		return results.setCautionPeriod(start, end);
+	}
+}
@@ -1,5 +1,15 @@
 package pointStandings;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.HashMap;
+
+import utilities.LogFileManager;
+import utilities.LogFileManager.Level;
+import utilities.RotationPolicy;
+
 /**
   * Manages the configuration file
   * reading/writing as well as
@@ -9,18 +19,178 @@ package pointStandings;
   * so this should be passed to 
   * the controller.  Produces an
   * instance of a //TODO name and define this
+  * <br><br>
+  * Lines are read as Tag=Value, anything after
+  * a # is a comment.  Tags are not case sensitive.
   * 
   * @author Richard Matthews
   * @version 1 (5-28-2013)
+  * @version 2 (10-17-2026)	[Reads tags, sets log levels]
   */
 public class ConfigManager
 {
+	private static final String header = "Config Manager";
+	private static final String fileLocation = System.getProperty("user.dir")+
+			File.separator+"RFLMConfig.cfg";
+	private HashMap<String, String> values;//Lower case tag to value
 	
+	/**
+	  * Reads the config file in the working directory
+	  */
+	public ConfigManager()	{	this(fileLocation);	}
 	
+	/**
+	  * Reads the config file given.  Values not
+	  * in the file (Or no file) use the defaults.
+	  * 
+	  * @param path - Path of the config file
+	  */
+	public ConfigManager(String path)
+	{
+		initializeEmpty();
+		if (new File(path).isFile())
+			readFile(path);
+		else
+			LogFileManager.logPrint(Level.Info, header,
+					"No config file, using defaults");
+	}
 	
 	private void initializeEmpty()
 	{
+		values = new HashMap<String, String>();
+	}
+	
+	/**
+	  * Reads each Tag=Value line of the file
+	  * @param path - Path of the config file
+	  * @return True if the file was read
+	  */
+	private boolean readFile(String path)
+	{
+		BufferedReader reader = null;
+		try
+		{
+			reader = new BufferedReader(new FileReader(path));
+			String line;
+			while ((line = reader.readLine()) != null)
+			{
+				//Drop comments
+				int comment = line.indexOf('#');
+				if (comment >= 0)
+					line = line.substring(0, comment);
+				line = line.trim();
+				if (line.isEmpty())
+					continue;
+				
+				int split = line.indexOf('=');
+				if (split < 1)
+				{
+					String[] arg = {line};
+					LogFileManager.minorError(1, arg);
+					continue;
+				}
+				values.put(line.substring(0, split).trim().toLowerCase(),
+						line.substring(split+1).trim());
+			}
+			
+			return true;
+		}
+		catch (IOException e)
+		{
+			LogFileManager.logPrint(Level.Warning, header,
+					"Could not read config: "+e.getMessage());
+			return false;
+		}
+		finally
+		{
+			try
+			{
+				if (reader != null)
+					reader.close();
+			}
+			catch (IOException e)
+			{
+				LogFileManager.logPrint(Level.Warning, header,
+						"Could not close config: "+e.getMessage());
+			}
+		}
+	}
+	
+	/**
+	  * Gets the value of a tag as written
+	  * @param tag - Tag to find (Not case sensitive)
+	  * @return The value, or null if not in the file
+	  */
+	public String getValue(String tag)	{	return values.get(tag.toLowerCase());	}
+	
+	/**
+	  * Gets a true/false value
+	  * @param tag - Tag to find (Not case sensitive)
+	  * @param fallback - Value if the tag is missing or not true/false
+	  * @return The value of the tag
+	  */
+	public boolean getBoolean(String tag, boolean fallback)
+	{
+		String value = getValue(tag);
+		if (value == null)
+			return fallback;
+		if (value.equalsIgnoreCase("true"))
+			return true;
+		if (value.equalsIgnoreCase("false"))
+			return false;
+		
+		String[] arg = {tag, value};
+		LogFileManager.minorError(2, arg);
+		return fallback;
+	}
+	
+	/**
+	  * Gets a whole number value
+	  * @param tag - Tag to find (Not case sensitive)
+	  * @param fallback - Value if the tag is missing or not a number
+	  * @return The value of the tag
+	  */
+	public int getInt(String tag, int fallback)
+	{
+		String value = getValue(tag);
+		if (value == null)
+			return fallback;
 		
+		try
+		{
+			return Integer.parseInt(value);
+		}
+		catch (NumberFormatException e)
+		{
+			String[] arg = {tag, value};
+			LogFileManager.minorError(2, arg);
+			return fallback;
+		}
+	}
+	
+	/**
+	  * Sets the trace log levels.  With FullLogOutput
+	  * everything is traced, otherwise only warnings
+	  * and the points awarded are logged.
+	  */
+	public void applyLogLevels()
+	{
+		LogFileManager.configure(getBoolean("FullLogOutput", true),
+				StandingsGenerator.pointsSection);
+	}
+	
+	/**
+	  * Sets when the log files roll over, from LogMaxSizeMB,
+	  * LogMaxAgeHours, LogFilesKept and CompressOldLogs.
+	  * Must be called before anything is logged to
+	  * change the default log files.
+	  */
+	public void applyLogRotation()
+	{
+		long maxBytes = getInt("LogMaxSizeMB", 64)*1024L*1024L;
+		long maxAge = getInt("LogMaxAgeHours", 0)*60L*60L*1000L;
+		LogFileManager.setRotation(new RotationPolicy(maxBytes, maxAge,
+				getInt("LogFilesKept", 5), getBoolean("CompressOldLogs", true)));
 	}
 	
 	/**
@@ -26,8 +26,18 @@ public final class DriverEvent
 	private boolean dnf;//Did ya finish?
 	private int bonusPointsClass, bonusPoints;//Points scored beyond start/finish position
 		//Timing variables
-	private float qualifyingTime, fastTimeRace, fastTimeOverall;//Fastest times
-	private float fastSector1, fastSector2, fastSector3;//Fastest sector times overall
+	private int qualifyingTime, fastTimeRace, fastTimeOverall;//Fastest times (RaceTimes)
+	private int fastSector1, fastSector2, fastSector3;//Fastest sector times overall (RaceTimes)
+		//Standings
+	private StandingsDriver owner;//Driver keeping totals of these points
+	
+	/**
+	  * Starts an event with no points and no times
+	  */
+	public DriverEvent()
+	{
+		initializeDefault();
+	}
 	
 	public void initializeDefault()
 	{
@@ -49,14 +59,14 @@ public final class DriverEvent
 		dnf = false;
 		bonusPointsClass = 0;
 		bonusPoints = 0;
-		qualifyingTime = 999.9f;
-		fastTimeRace = 999.9f;
-		fastSector1 = 999.9f;
-		fastSector2 = 999.9f;
-		fastSector3 = 999.9f;
-		fastTimeOverall = 999.9f;;
+		qualifyingTime = RaceTime.NONE;
+		fastTimeRace = RaceTime.NONE;
+		fastSector1 = RaceTime.NONE;
+		fastSector2 = RaceTime.NONE;
+		fastSector3 = RaceTime.NONE;
+		fastTimeOverall = RaceTime.NONE;
 	}
-	
+		
 		//Accessors
 			//Information variables
 	public long getEventID()	{	return eventID;	}
@@ -85,11 +95,17 @@ public final class DriverEvent
 	public int getRaceFastSectorCount()	{	return fastSectorsRace;	}
 	public int getBonusPointsOverall()	{	return bonusPoints;	}
 	public int getBonusPointsClass()	{	return bonusPointsClass;	}
-			//Timing variables
-	public float getQualifyingTime()	{	return qualifyingTime;	}
-	public float getFastestRaceLap()	{	return fastTimeRace;	}
-	public float getOverallFastTime()	{	return fastTimeOverall;	}
-	public float getFastSectorTime(int sector)
+			//Timing variables in seconds (NaN if no time)
+	public float getQualifyingTime()	{	return RaceTime.toSeconds(qualifyingTime);	}
+	public float getFastestRaceLap()	{	return RaceTime.toSeconds(fastTimeRace);	}
+	public float getOverallFastTime()	{	return RaceTime.toSeconds(fastTimeOverall);	}
+	public float getFastSectorTime(int sector)	{	return RaceTime.toSeconds(getFastSectorRaceTime(sector));	}
+	public float getDreamLap()	{	return RaceTime.toSeconds(getDreamRaceTime());	}
+			//Timing variables as RaceTimes (NONE if no time)
+	public int getQualifyingRaceTime()	{	return qualifyingTime;	}
+	public int getFastestRaceLapRaceTime()	{	return fastTimeRace;	}
+	public int getOverallFastRaceTime()	{	return fastTimeOverall;	}
+	public int getFastSectorRaceTime(int sector)
 	{
 		if (sector == 1)
 			return fastSector1;
@@ -97,13 +113,17 @@ public final class DriverEvent
 			return fastSector2;
 		if (sector == 3)
 			return fastSector3;
-		return 999.9f;
+		return RaceTime.NONE;
 	}
-	public float getDreamLap()
+	public int getDreamRaceTime()
 	{
+		if (!RaceTime.isSet(fastSector1) || !RaceTime.isSet(fastSector2) || 
+				!RaceTime.isSet(fastSector3))
+			return RaceTime.NONE;
+		
 		return fastSector1+fastSector2+fastSector3;
 	}
-	
+		
 		//Mutators
 			//Information variables
 	public void setEventID(long id)	{	eventID = id;	}
@@ -111,58 +131,111 @@ public final class DriverEvent
 	public void setTeamName(String name)	{	teamName = name;	}
 	public void setCarClass(String cla)	{	carClass = cla;	}
 			//Qualifying variables
-	public void setQualifyingPointsOverall(int points)	{	pointsStartOverall = points;	}
-	public void setQualifyingPointsClass(int points)	{	pointsStartClass = points;	}
+	public void setQualifyingPointsOverall(int points)
+	{
+		pointsChanged(points-pointsStartOverall, 0);
+		pointsStartOverall = points;
+	}
+	public void setQualifyingPointsClass(int points)
+	{
+		pointsChanged(0, points-pointsStartClass);
+		pointsStartClass = points;
+	}
 	public void setStartingPositionOverall(int position)	{	overallStart = position;	}
 	public void setStartingPositionClass(int position)	{	classStart = position;	}
 			//Race variables
 	public void setLapsLed(int laps)	{	lapsLed = laps;	}
-	public void setRacePointsOverall(int points)	{	pointsFinishOverall = points;	}
-	public void setRacePointsClass(int points)	{	pointsFinishClass = points;	}
+	public void setRacePointsOverall(int points)
+	{
+		pointsChanged(points-pointsFinishOverall, 0);
+		pointsFinishOverall = points;
+	}
+	public void setRacePointsClass(int points)
+	{
+		pointsChanged(0, points-pointsFinishClass);
+		pointsFinishClass = points;
+	}
 	public void setFastestLap(boolean fast)	{	fastestLapRace = fast;	}
 	public void setMostLapsLed(boolean most)	{	mostLapsLed = most;	}
-	public void setFinishPositionOverall(int position)	{	overallFinish = position;	}
-	public void setFinishPositionClass(int position)	{	classFinish = position;	}
+	public void setFinishPositionOverall(int position)
+	{
+		if (owner != null)
+			owner.eventFinishChanged(overallFinish, position, true);
+		overallFinish = position;
+	}
+	public void setFinishPositionClass(int position)
+	{
+		if (owner != null)
+			owner.eventFinishChanged(classFinish, position, false);
+		classFinish = position;
+	}
 	public void setFinished(boolean finish)	{	dnf = finish;	}
 	public void setMostGained(boolean gain)	{	mostGained = gain;	}
 			//Bonus point variables
 	public void setQualifyingFastSectorCount(int sectors)	{	fastSectorsQualifying = sectors;	}
 	public void setRaceFastSectorCount(int sectors)	{	fastSectorsRace = sectors;	}
-	public void setBonusPointsOverall(int points)	{	bonusPoints = points;	}
-	public void addBonusPointsOverall(int points)	{	bonusPoints += points;	}
-	public void setBonusPointsClass(int points)	{	bonusPointsClass = points;	}
-	public void addBonusPointsClass(int points)	{	bonusPointsClass += points;	}
+	public void setBonusPointsOverall(int points)	{	addBonusPointsOverall(points-bonusPoints);	}
+	public void addBonusPointsOverall(int points)
+	{
+		pointsChanged(points, 0);
+		bonusPoints += points;
+	}
+	public void setBonusPointsClass(int points)	{	addBonusPointsClass(points-bonusPointsClass);	}
+	public void addBonusPointsClass(int points)
+	{
+		pointsChanged(0, points);
+		bonusPointsClass += points;
+	}
 			//Timing variables
-	public void setQualifyingTime(float time)
+				//Times are RaceTimes
+	public void setQualifyingTime(int time)
 	{
 		qualifyingTime = time;
 		setOverallFastTime(time);
 	}
-	public void setFastestRaceLap(float time)
+	public void setFastestRaceLap(int time)
 	{
 		fastTimeRace = time;
 		setOverallFastTime(time);
 	}
-	public void setOverallFastTime(float time)
+	public void setOverallFastTime(int time)
 	{
-		if (time > 0.0f && time < fastTimeOverall)
+		if (time > 0 && time < fastTimeOverall)
 			fastTimeOverall = time;
 	}
-	public void setFastSectorTime(int sector, float time)
+	public void setFastSectorTime(int sector, int time)
 	{
-		if (sector == 1 && time < fastSector1 && time > 0.0f)
+		if (sector == 1 && time < fastSector1 && time > 0)
 			fastSector1 = time;
-		if (sector == 2 && time < fastSector2 && time > 0.0f)
+		if (sector == 2 && time < fastSector2 && time > 0)
 			fastSector2 = time;
-		if (sector == 3 && time < fastSector3 && time > 0.0f)
+		if (sector == 3 && time < fastSector3 && time > 0)
 			fastSector3 = time;
 		
 		return;
 	}
-	
-	
+		
+		
 		//Private functions
+	/**
+	  * Passes a change in points on to the driver 
+	  * keeping the totals, if there is one
+	  * @param overall - Change in overall points
+	  * @param cla - Change in class points
+	  */
+	private void pointsChanged(int overall, int cla)
+	{
+		if (owner != null && (overall != 0 || cla != 0))
+			owner.eventPointsChanged(overall, cla);
+	}
 	
+	/**
+	  * Sets the driver to tell when points change.
+	  * Only the driver the event is added to should call this.
+	  * @param driver - The driver keeping totals
+	  */
+	void setOwner(StandingsDriver driver)	{	owner = driver;	}
+		
 		//Calculate points
 	public int getTotalPoints()
 	{
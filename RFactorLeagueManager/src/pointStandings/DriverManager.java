@@ -1,9 +1,15 @@
 package pointStandings;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 
 import utilities.LogFileManager;
+import utilities.LogFileManager.Level;
 
 /**
   * Manages drivers using their IDs
@@ -16,14 +22,28 @@ import utilities.LogFileManager;
 public final class DriverManager
 {
 	private LinkedList<StandingsDriver> drivers = new LinkedList<StandingsDriver>();
+	private HashMap<String, StandingsDriver> driverIndex;//Name key -> driver
 	private int driverCount;
+	private ArrayList<StandingsDriver> ranking;//Drivers by overall points
+	private int[] rankedPoints;//Driver ID -> points the driver is ranked by
+	private int positionsFrom;//First spot in the ranking with a stale position
+	private StandingsComparator overallOrder, classOrder;
 	private static DriverManager manager;
 	private static final String header = "DriverManager";
+	private static final int unranked = Integer.MIN_VALUE;
 	
 	private DriverManager()
 	{
 		driverCount = 0;
 		drivers = new LinkedList<StandingsDriver>();
+		driverIndex = new HashMap<String, StandingsDriver>();
+		ranking = new ArrayList<StandingsDriver>();
+		rankedPoints = new int[16];
+		Arrays.fill(rankedPoints, unranked);
+		positionsFrom = 0;
+		PointsTemplate scorekeeper = new PointsTemplate();
+		overallOrder = new StandingsComparator(true, scorekeeper.getTieBreakers());
+		classOrder = new StandingsComparator(false, scorekeeper.getTieBreakers());
 	}
 	
 	/**
@@ -56,18 +76,11 @@ public final class DriverManager
 		String name = driver.getName();
 		
 		//Check existence based on primary key (name)
-		Iterator<StandingsDriver> iterator = drivers.iterator();
-		boolean found = false;
-		StandingsDriver newDriver = new StandingsDriver();
-		while(iterator.hasNext() && !found)
-		{
-			StandingsDriver temp = iterator.next();
-			if (temp.getName().matches(name))
-			{
-				found = true;
-				newDriver = temp;
-			}
-		}
+		String key = nameKey(name);
+		StandingsDriver newDriver = driverIndex.get(key);
+		boolean found = newDriver != null;
+		if (!found)
+			newDriver = new StandingsDriver();
 		
 		//New drivers have vars set, existing have them updated
 		newDriver.setPlayer(driver.isPlayer());
@@ -81,6 +94,7 @@ public final class DriverManager
 			newDriver.setName(name);
 			newDriver.setID(this, driverCount);
 			driverCount++;
+			driverIndex.put(key, newDriver);
 			drivers.add(newDriver);//Not adding the driver is bad, mmmkay
 					//If you forget to add the driver when adding a new driver,
 					//		you're gonna have a bad time
@@ -89,164 +103,296 @@ public final class DriverManager
 		return newDriver;
 	}
 	
-	protected LinkedList<StandingsDriver> getList()	{	return drivers;	}
+	/**
+	  * Gets the driver going by the name given
+	  * @param name - Driver name or alias
+	  * @return The driver, or null if there isn't one
+	  */
+	public StandingsDriver getDriver(String name)	{	return driverIndex.get(nameKey(name));	}
 	
 	/**
-	  * Sorts the drivers by overall points
-	  * @return True if successful
+	  * Lets a driver who has changed names keep their 
+	  * standings.  Results under the alias are scored
+	  * to the driver already known by the name.
+	  * 
+	  * @param alias - The other name the driver goes by
+	  * @param name - The name the driver is known by
+	  * @return True if added, false if the driver is unknown 
+	  * 		or the alias already belongs to another driver
 	  */
-	public boolean sortByOverallPoints()
+	public boolean addAlias(String alias, String name)
 	{
-		boolean check = false;
+		StandingsDriver driver = getDriver(name);
+		if (driver == null)
+			return false;
 		
-		LinkedList<StandingsDriver> drivers = getManager().getList();
+		String key = nameKey(alias);
+		StandingsDriver existing = driverIndex.get(key);
+		if (existing != null && existing != driver)
+		{
+			LogFileManager.logPrint(Level.Warning, header, "Alias "+alias+" already belongs to "+
+					existing.getName());
+			return false;
+		}
 		
-		//Null check
-		if (drivers != null)
+		driverIndex.put(key, driver);
+		LogFileManager.logPrint(Level.Debug, header, () -> "Added alias "+alias+" for "+driver.getName());
+		return true;
+	}
+	
+	/**
+	  * Builds the lookup key for a name.  Case and
+	  * extra spaces are ignored, so "john  smith " and
+	  * "John Smith" are the same driver.
+	  * @param name - Driver name
+	  * @return Key for the driver index
+	  */
+	static String nameKey(String name)
+	{
+		StringBuilder key = new StringBuilder(name.length());
+		boolean space = false;
+		for (int i = 0; i < name.length(); i++)
 		{
-			if (!drivers.isEmpty())
+			char c = name.charAt(i);
+			if (Character.isWhitespace(c))
+				space = key.length() > 0;
+			else
 			{
-				//Get the array
-				Object[] array = drivers.toArray();
-				StandingsDriver[] tempList = new StandingsDriver[array.length];
-				for (int k = 0; k < array.length; k++)
-					tempList[k] = (StandingsDriver) array[k];
-				
-				//Quick Sort
-				tempList = driverSort(tempList, true);
-				
-				//Assign the positions
-				int lastPosition = 1;
-				int lastPoints = tempList[0].getOverallPointTotal();
-				for (int i = 0; i < tempList.length; i++)
-				{
-					//If not tied in points, change last points and increment position
-					if (tempList[i].getOverallPointTotal() != lastPoints)
-					{
-						lastPosition = i+1;
-						lastPoints = tempList[i].getOverallPointTotal();
-					}
-					tempList[i].setPositionOverall(lastPosition, this);
-				}
-				
-				//Save array as a LinkedList
-				LinkedList<StandingsDriver> tempArray = new LinkedList<StandingsDriver>();
-				for (int j = 0; j < tempList.length; j++)
-					tempArray.add(tempList[j]);
-				
-				this.drivers = tempArray;
-				
-				check = true;
+				if (space)
+					key.append(' ');
+				space = false;
+				key.append(Character.toLowerCase(c));
 			}
 		}
 		
-		return check;
+		return key.toString();
 	}
 	
-	public StandingsDriver[] getDriversByClass(String className)
+	protected LinkedList<StandingsDriver> getList()	{	return drivers;	}
+	
+	/**
+	  * Moves drivers whose points changed to their new
+	  * spots in the ranking.  Each driver is found and put
+	  * back with a binary search, so only the changed drivers
+	  * are compared, not the whole field.  Pulling a driver out
+	  * and putting it back still shifts the drivers behind it,
+	  * so each move is O(n), but only as an array copy.
+	  * Drivers whose points did not change keep their order
+	  * to each other, as nothing the ranking compares changed.
+	  * Drivers not yet ranked are added.
+	  * 
+	  * @param changed - Drivers whose points may have changed
+	  */
+	public void updateRanking(Collection<StandingsDriver> changed)
 	{
-		StandingsDriver[] list = null;
-		
-		//TODO Filter by class
+		LogFileManager.logPrint(Level.Trace, header, () -> "Reranking "+changed.size()+" of "+
+				driverCount+" drivers");
 		
-		//TODO Sort by class points (Could probably get away with overall, but don't risk)
+		//Pull the changed drivers out
+		for (StandingsDriver driver : changed)
+		{
+			int spot = findRanked(driver);
+			if (spot >= 0)
+			{
+				ranking.remove(spot);
+				positionsFrom = Math.min(positionsFrom, spot);
+			}
+		}
 		
-		return list;
+		//Put them back in by their new totals
+		for (StandingsDriver driver : changed)
+		{
+			int spot = insertionPoint(driver);
+			ranking.add(spot, driver);
+			setRankedPoints(driver, driver.getOverallPointTotal());
+			positionsFrom = Math.min(positionsFrom, spot);
+		}
+	}
+	
+	/**
+	  * Writes every driver's points at each event to the trace
+	  */
+	public void logPointBreakdown()
+	{
+		Iterator<StandingsDriver> iterator = drivers.iterator();
+		while (iterator.hasNext())
+			iterator.next().logPointBreakdown();
 	}
 	
-	public StandingsDriver[] driverSort(StandingsDriver[] drivers, boolean overall)
+	/**
+	  * Makes an iterator for the drivers in order of overall
+	  * points, with their positions up to date
+	  * @return The iterator requested
+	  */
+	public Iterator<StandingsDriver> getRankingIterator()
+	{
+		assignPositions();
+		return Collections.unmodifiableList(ranking).iterator();
+	}
+	
+	/**
+	  * Gives positions to every driver from the first spot that
+	  * changed down.  Drivers the tie breakers can't 
+	  * separate share a position.
+	  */
+	private void assignPositions()
 	{
-		LogFileManager.logPrint(header, "QuickSorting an array of size " + drivers.length);
+		if (positionsFrom >= ranking.size())
+			return;
 		
-		//Kick out if zero or one element
-		if (drivers.length < 2)
-			return drivers;
+		//Back up to the start of a tie, as its position carries down
+		int start = positionsFrom;
+		while (start > 0 && overallOrder.compare(ranking.get(start-1), 
+				ranking.get(start)) == 0)
+			start--;
 		
-		//Find last element (Least points)
-		int element = 0;
-		int points;
-		if (overall)
-			points = drivers[element].getOverallPointTotal();
-		else
-			points = drivers[element].getClassPointTotal();
-		for (int i = 0; i < drivers.length; i++)
+		int lastPosition = start+1;
+		for (int i = start; i < ranking.size(); i++)
 		{
-			if ((points > drivers[i].getOverallPointTotal() && overall) ||
-				(points > drivers[i].getClassPointTotal() && !overall))
-			{
-				element = i;
-				if (overall)
-					points = drivers[element].getOverallPointTotal();
-				else
-					points = drivers[element].getClassPointTotal();
-			}
+			StandingsDriver driver = ranking.get(i);
+			if (i > start && overallOrder.compare(ranking.get(i-1), driver) != 0)
+				lastPosition = i+1;
+			driver.setPositionOverall(lastPosition, this);
 		}
 		
-		//Swap if the last element isn't the l
-		if (element != drivers.length-1)
-		{
-			drivers = driverSwap(drivers, element, drivers.length-1);
-		}
+		positionsFrom = ranking.size();
+	}
+	
+	/**
+	  * Finds where a driver sits in the ranking using the
+	  * points it was last ranked by
+	  * @param driver - Driver to find
+	  * @return Index in the ranking, or -1 if not ranked
+	  */
+	private int findRanked(StandingsDriver driver)
+	{
+		int points = rankedPoints(driver);
+		if (points == unranked)
+			return -1;
 		
-		//Initiate the sort
-		drivers = driverSort(drivers, 0, drivers.length-2, overall);
+		//Search the drivers tied on those points
+		for (int i = pointsEnd(points+1); i < ranking.size() && 
+				rankedPoints(ranking.get(i)) == points; i++)
+			if (ranking.get(i) == driver)
+				return i;
 		
-		return drivers;
+		return -1;
 	}
 	
-	public StandingsDriver[] driverSort(StandingsDriver[] drivers, 
-			int start, int end, boolean overall)
+	/**
+	  * Binary search for the spot after every driver
+	  * ranked with at least the points given
+	  * @param points - Points total to look for
+	  * @return Index after those drivers
+	  */
+	private int pointsEnd(int points)
 	{
-		//TODO Fix this blasted thing!!!
-		//Basic maintenance
-		int lower = start + 1;
-		int upper = end;
-		drivers = driverSwap(drivers, start, (start+end)/2);
+		int low = 0;
+		int high = ranking.size();
+		while (low < high)
+		{
+			int middle = (low+high) >>> 1;
+			if (rankedPoints(ranking.get(middle)) >= points)
+				low = middle+1;
+			else
+				high = middle;
+		}
 		
-		//Sort into elements higher and lower
-		int points;
-		if (overall)
-			points = drivers[start].getOverallPointTotal();
-		else
-			points = drivers[start].getClassPointTotal();
-		while(lower <= upper)
+		return low;
+	}
+	
+	/**
+	  * Binary search for the spot after every driver
+	  * ranked ahead of or tied with the driver given
+	  * @param driver - Driver to place
+	  * @return Index to insert at
+	  */
+	private int insertionPoint(StandingsDriver driver)
+	{
+		int low = 0;
+		int high = ranking.size();
+		while (low < high)
 		{
-			while ((drivers[lower].getOverallPointTotal() >= points && overall) ||
-					(drivers[lower].getClassPointTotal() >= points && !overall))
-				lower++;
-			while ((drivers[upper].getOverallPointTotal() < points && overall) ||
-					(drivers[upper].getClassPointTotal() < points && !overall))
-				upper--;
-			if (lower < upper)
-				drivers = driverSwap(drivers, upper--, lower++);
+			int middle = (low+high) >>> 1;
+			if (overallOrder.compare(ranking.get(middle), driver) <= 0)
+				low = middle+1;
 			else
-				lower++;
+				high = middle;
 		}
-		drivers = driverSwap(drivers, start, upper);
 		
-		//Go Caesar/Napoleon on this sort
-		if (start < upper-1)
-			drivers = driverSort(drivers, start, upper-1, overall);
-		if (upper+1 < end)
-			drivers = driverSort(drivers, upper+1, end, overall);
+		return low;
+	}
+	
+	private int rankedPoints(StandingsDriver driver)
+	{
+		int id = driver.getDriverID();
+		return (id < rankedPoints.length) ? rankedPoints[id] : unranked;
+	}
+	
+	private void setRankedPoints(StandingsDriver driver, int points)
+	{
+		int id = driver.getDriverID();
+		if (id >= rankedPoints.length)
+		{
+			int oldLength = rankedPoints.length;
+			rankedPoints = Arrays.copyOf(rankedPoints, Math.max(id+1, oldLength*2));
+			Arrays.fill(rankedPoints, oldLength, rankedPoints.length, unranked);
+		}
+		rankedPoints[id] = points;
+	}
+	
+	/**
+	  * Sorts every driver by overall points from scratch, 
+	  * in place, and gives them their positions
+	  * @return True if successful
+	  */
+	public boolean sortByOverallPoints()
+	{
+		if (drivers.isEmpty())
+			return false;
+		
+		LogFileManager.logPrint(Level.Trace, header, () -> "Sorting "+driverCount+" drivers");
+		ranking.clear();
+		ranking.addAll(drivers);
+		Collections.sort(ranking, overallOrder);
+		for (int i = 0; i < ranking.size(); i++)
+			setRankedPoints(ranking.get(i), ranking.get(i).getOverallPointTotal());
+		
+		positionsFrom = 0;
+		assignPositions();
 		
-		return drivers;
+		return true;
 	}
 	
 	/**
-	  * Swaps the drivers indicated in the array (Does not change base array)
-	  * @param drivers - Raw list of drivers (Remains unchanged)
-	  * @param upper - Location of first driver to swap
-	  * @param lower - Location of other driver to swap
-	  * @return List passed with the two drivers swapped
+	  * Gets the drivers in a class, sorted by class points,
+	  * and gives them their class positions
+	  * @param className - The class to get
+	  * @return The drivers in the class
 	  */
-	public StandingsDriver[] driverSwap(StandingsDriver[] drivers, int upper, int lower)
+	public StandingsDriver[] getDriversByClass(String className)
 	{
-		StandingsDriver[] tempList = drivers.clone();
-		StandingsDriver temp = tempList[upper];
-		tempList[upper] = tempList[lower];
-		tempList[lower] = temp;
+		//Filter by class
+		ArrayList<StandingsDriver> classDrivers = new ArrayList<StandingsDriver>();
+		Iterator<StandingsDriver> iterator = drivers.iterator();
+		while (iterator.hasNext())
+		{
+			StandingsDriver driver = iterator.next();
+			if (className.equals(driver.getCarClass()))
+				classDrivers.add(driver);
+		}
 		
-		return tempList;
+		//Sort by class points
+		StandingsDriver[] list = classDrivers.toArray(new StandingsDriver[classDrivers.size()]);
+		Arrays.sort(list, classOrder);
+		int lastPosition = 1;
+		for (int i = 0; i < list.length; i++)
+		{
+			if (i > 0 && classOrder.compare(list[i-1], list[i]) != 0)
+				lastPosition = i+1;
+			list[i].setPositionClass(lastPosition, this);
+		}
+		
+		return list;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,174 @@
+package pointStandings;
+
+import java.util.Arrays;
+
+/**
+  * The timed events of a session read from its
+  * Stream, stored a column per field instead of an
+  * object per event (Like LapTable).  Rows are in
+  * the order the events happened.
+  * <br><br>
+  * Drivers are the slot numbers rFactor writes after
+  * each name, "Frank Morris(12)".  The name for each
+  * slot is kept once, see getDriverName.
+  * Impacts are fixed point, IMPACT_SCALE to an
+  * impact of 1, so a contact of 0.32 is stored as
+  * 3200.  See toImpact.
+  * <br><br>
+  * Rows are only added while the session is read,
+  * so this is not thread safe.
+  * 
+  * @author Richard Matthews
+  * @version 1 (10-17-2026)
+  * @version 2 (10-17-2026)	[Own scale for impacts]
+  */
+public final class EventLog
+{
+	/**
+	  * What happened.  The meaning of value and
+	  * other depends on the kind.
+	  */
+	public static enum Kind
+	{
+		Crossing,//Driver crossed a timing point (Value = lap time, NONE if no lap)
+		Contact,//Driver hit another car (Value = impact, Other = other driver)
+		Impact,//Driver hit a wall or debris (Value = impact)
+		Flag//Yellow flag state changed (Value = new state, Other = old state)
+	}
+	
+	/**	Driver, lap, or point not given	*/
+	public static final int NONE = -1;
+	/**	Stored units in an impact of 1 (As written in the file)	*/
+	public static final int IMPACT_SCALE = 10000;
+	private static final Kind[] kinds = Kind.values();
+	private int[] time;//RaceTime into the session
+	private byte[] kind;
+	private int[] driver, other;
+	private int[] lap, point;
+	private int[] value;
+	private String[] names;//Slot -> driver name
+	private int size;
+	
+	public EventLog()	{	this(256);	}
+	
+	/**
+	  * Constructor
+	  * @param capacity - Events to make room for at first
+	  */
+	public EventLog(int capacity)
+	{
+		capacity = Math.max(capacity, 1);
+		time = new int[capacity];
+		kind = new byte[capacity];
+		driver = new int[capacity];
+		other = new int[capacity];
+		lap = new int[capacity];
+		point = new int[capacity];
+		value = new int[capacity];
+		names = new String[32];
+		size = 0;
+	}
+	
+	/**
+	  * Converts an impact as written in the file to the stored scale
+	  * @param impact - Impact from the file (0.32 etc)
+	  * @return The stored impact, or NONE if not a number or negative
+	  */
+	public static int toImpact(double impact)
+	{
+		if (Double.isNaN(impact) || impact < 0.0 || impact*IMPACT_SCALE >= Integer.MAX_VALUE)
+			return NONE;
+		
+		return (int) Math.round(impact*IMPACT_SCALE);
+	}
+	
+	/**
+	  * Adds an event
+	  * @param time - RaceTime into the session
+	  * @param kind - What happened
+	  * @param driver - Slot of the driver (NONE for flags)
+	  * @param lap - Lap the driver was on (NONE if not known)
+	  * @param point - Timing point crossed (NONE if not a crossing)
+	  * @param value - See Kind
+	  * @param other - See Kind (NONE if not used)
+	  * @return The row of the event
+	  */
+	public int add(int time, Kind kind, int driver, int lap, int point, int value, int other)
+	{
+		if (size == this.time.length)
+			resize(size*2);
+		
+		int row = size++;
+		this.time[row] = time;
+		this.kind[row] = (byte) kind.ordinal();
+		this.driver[row] = driver;
+		this.lap[row] = lap;
+		this.point[row] = point;
+		this.value[row] = value;
+		this.other[row] = other;
+		
+		return row;
+	}
+	
+	/**
+	  * Drops unused room once the session is read
+	  */
+	public void trimToSize()
+	{
+		if (size < time.length)
+			resize(size);
+	}
+	
+	private void resize(int capacity)
+	{
+		capacity = Math.max(capacity, 1);
+		time = Arrays.copyOf(time, capacity);
+		kind = Arrays.copyOf(kind, capacity);
+		driver = Arrays.copyOf(driver, capacity);
+		other = Arrays.copyOf(other, capacity);
+		lap = Arrays.copyOf(lap, capacity);
+		point = Arrays.copyOf(point, capacity);
+		value = Arrays.copyOf(value, capacity);
+	}
+	
+	/**
+	  * Checks if a slot's driver name is known
+	  * @param slot - Slot of the driver
+	  * @return True if the name has been set
+	  */
+	public boolean hasDriverName(int slot)
+	{
+		return slot >= 0 && slot < names.length && names[slot] != null;
+	}
+	
+	/**
+	  * Sets the name of the driver in a slot
+	  * @param slot - Slot of the driver
+	  * @param name - Name of the driver
+	  */
+	public void setDriverName(int slot, String name)
+	{
+		if (slot < 0)
+			return;
+		if (slot >= names.length)
+			names = Arrays.copyOf(names, Math.max(slot+1, names.length*2));
+		names[slot] = name;
+	}
+	
+	/**
+	  * Gets the name of the driver in a slot
+	  * @param slot - Slot of the driver
+	  * @return The name, or null if not known
+	  */
+	public String getDriverName(int slot)	{	return hasDriverName(slot) ? names[slot] : null;	}
+		
+		//Accessors
+	public int size()	{	return size;	}
+	public int getTime(int row)	{	return time[row];	}
+	public Kind getKind(int row)	{	return kinds[kind[row]];	}
+	public int getDriver(int row)	{	return driver[row];	}
+	public int getLap(int row)	{	return lap[row];	}
+	public int getPoint(int row)	{	return point[row];	}
+	public int getValue(int row)	{	return value[row];	}
+	public int getOther(int row)	{	return other[row];	}
+}
@@ -0,0 +1,282 @@
+package pointStandings;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import pointStandings.EventLog.Kind;
+
+/**
+  * The contacts and impacts of a session at or above a
+  * severity, indexed by time, driver, driver pair and lap.
+  * Queries return rows of the session's EventLog in time
+  * order, read the details from the log.  Most can also
+  * be narrowed to a higher impact than the index keeps.
+  * <br><br>
+  * Each index is a sorted list of positions, so a time
+  * window is found with two binary searches (O(log n)),
+  * and a driver or pair is one map lookup and then the
+  * same search over only its incidents.
+  * <br><br>
+  * Built once and never changed, so safe to share.
+  * 
+  * @author Richard Matthews
+  * @version 1 (10-17-2026)
+  */
+public final class IncidentIndex
+{
+	private static final int[] none = new int[0];
+	private final EventLog log;
+	private final int threshold;//Lowest impact kept (EventLog.IMPACT_SCALE)
+	private final int[] rows;//Log rows, sorted by time
+	private final int[] times;//Time of each row
+	private final HashMap<Integer, int[]> byDriver;//Slot -> positions
+	private final HashMap<Long, int[]> byPair;//Both slots -> positions
+	private final HashMap<Integer, int[]> byLap;//Lap -> positions
+	
+	/**
+	  * Indexes the incidents of a session
+	  * @param log - The session's events
+	  * @param threshold - Lowest impact to keep (Same scale as the file, 0.15 etc)
+	  */
+	public IncidentIndex(EventLog log, float threshold)
+	{
+		this.log = log;
+		this.threshold = EventLog.toImpact(Math.max(threshold, 0.0f));
+		
+		//Pick out incidents and sort by time (Stable, so ties keep log order)
+		long[] keys = new long[log.size()];
+		int count = 0;
+		for (int row = 0; row < log.size(); row++)
+		{
+			Kind kind = log.getKind(row);
+			if ((kind == Kind.Contact || kind == Kind.Impact) &&
+					log.getValue(row) >= this.threshold)
+				keys[count++] = ((long) log.getTime(row) << 32) | row;
+		}
+		Arrays.sort(keys, 0, count);
+		rows = new int[count];
+		times = new int[count];
+		for (int i = 0; i < count; i++)
+		{
+			rows[i] = (int) keys[i];
+			times[i] = (int) (keys[i] >>> 32);
+		}
+		
+		//Postings, built in time order so each is sorted
+		HashMap<Integer, PostingList> drivers = new HashMap<Integer, PostingList>();
+		HashMap<Long, PostingList> pairs = new HashMap<Long, PostingList>();
+		HashMap<Integer, PostingList> laps = new HashMap<Integer, PostingList>();
+		for (int i = 0; i < count; i++)
+		{
+			int driver = log.getDriver(rows[i]);
+			int other = log.getOther(rows[i]);
+			post(drivers, driver, i);
+			if (other != EventLog.NONE && other != driver)
+			{
+				post(drivers, other, i);
+				post(pairs, pairKey(driver, other), i);
+			}
+			post(laps, log.getLap(rows[i]), i);
+		}
+		byDriver = toArrays(drivers);
+		byPair = toArrays(pairs);
+		byLap = toArrays(laps);
+	}
+	
+	/**
+	  * Gets every incident in a time window
+	  * @param from - Start of the window (RaceTime, included)
+	  * @param to - End of the window (RaceTime, included)
+	  * @return Log rows in time order
+	  */
+	public int[] between(int from, int to)	{	return collect(null, lowerBound(from), lowerBound(to+1L), threshold);	}
+	
+	/**
+	  * Gets the incidents in a time window at or above an impact
+	  * @param from - Start of the window (RaceTime, included)
+	  * @param to - End of the window (RaceTime, included)
+	  * @param minImpact - Lowest impact to give back (Same scale as the file)
+	  * @return Log rows in time order
+	  */
+	public int[] between(int from, int to, float minImpact)
+	{
+		return collect(null, lowerBound(from), lowerBound(to+1L), EventLog.toImpact(minImpact));
+	}
+	
+	/**
+	  * Gets every incident a driver was part of
+	  * @param slot - Slot of the driver
+	  * @return Log rows in time order
+	  */
+	public int[] forDriver(int slot)	{	return forDriver(slot, 0, RaceTime.NONE-1);	}
+	
+	/**
+	  * Gets the incidents a driver was part of in a time window
+	  * @param slot - Slot of the driver
+	  * @param from - Start of the window (RaceTime, included)
+	  * @param to - End of the window (RaceTime, included)
+	  * @return Log rows in time order
+	  */
+	public int[] forDriver(int slot, int from, int to)	{	return select(byDriver.get(slot), from, to, threshold);	}
+	
+	/**
+	  * Gets the incidents a driver was part of in a time window at or above an impact
+	  * @param slot - Slot of the driver
+	  * @param from - Start of the window (RaceTime, included)
+	  * @param to - End of the window (RaceTime, included)
+	  * @param minImpact - Lowest impact to give back (Same scale as the file)
+	  * @return Log rows in time order
+	  */
+	public int[] forDriver(int slot, int from, int to, float minImpact)
+	{
+		return select(byDriver.get(slot), from, to, EventLog.toImpact(minImpact));
+	}
+	
+	/**
+	  * Gets every contact between two drivers
+	  * @param slot - Slot of one driver
+	  * @param otherSlot - Slot of the other driver
+	  * @return Log rows in time order
+	  */
+	public int[] forPair(int slot, int otherSlot)
+	{
+		return select(byPair.get(pairKey(slot, otherSlot)), 0, RaceTime.NONE-1, threshold);
+	}
+	
+	/**
+	  * Gets the contacts between two drivers at or above an impact
+	  * @param slot - Slot of one driver
+	  * @param otherSlot - Slot of the other driver
+	  * @param minImpact - Lowest impact to give back (Same scale as the file)
+	  * @return Log rows in time order
+	  */
+	public int[] forPair(int slot, int otherSlot, float minImpact)
+	{
+		return select(byPair.get(pairKey(slot, otherSlot)), 0, RaceTime.NONE-1, 
+				EventLog.toImpact(minImpact));
+	}
+	
+	/**
+	  * Gets every incident on a lap
+	  * @param lap - Lap of the driver reporting it
+	  * @return Log rows in time order
+	  */
+	public int[] onLap(int lap)	{	return select(byLap.get(lap), 0, RaceTime.NONE-1, threshold);	}
+	
+	/**
+	  * Gets the positions that fall in a time window as log
+	  * rows, searching only the positions given
+	  */
+	private int[] select(int[] positions, int from, int to, int minimum)
+	{
+		if (positions == null)
+			return none;
+		
+		return collect(positions, lowerBound(positions, from), lowerBound(positions, to+1L), minimum);
+	}
+	
+	/**
+	  * Copies out the log rows of a run of positions, skipping
+	  * impacts below the minimum (None are below the threshold)
+	  * @param positions - Positions to read, or null to read the rows in order
+	  */
+	private int[] collect(int[] positions, int start, int end, int minimum)
+	{
+		int[] selected = new int[Math.max(end-start, 0)];
+		int count = 0;
+		for (int i = start; i < end; i++)
+		{
+			int row = rows[(positions == null) ? i : positions[i]];
+			if (minimum <= threshold || log.getValue(row) >= minimum)
+				selected[count++] = row;
+		}
+		
+		return (count == selected.length) ? selected : Arrays.copyOf(selected, count);
+	}
+	
+	/**
+	  * First position at or after a time
+	  */
+	private int lowerBound(long time)
+	{
+		int low = 0, high = times.length;
+		while (low < high)
+		{
+			int middle = (low+high) >>> 1;
+			if (times[middle] < time)
+				low = middle+1;
+			else
+				high = middle;
+		}
+		
+		return low;
+	}
+	
+	/**
+	  * First entry of a posting list at or after a time
+	  */
+	private int lowerBound(int[] positions, long time)
+	{
+		int low = 0, high = positions.length;
+		while (low < high)
+		{
+			int middle = (low+high) >>> 1;
+			if (times[positions[middle]] < time)
+				low = middle+1;
+			else
+				high = middle;
+		}
+		
+		return low;
+	}
+	
+	private static long pairKey(int slot, int otherSlot)
+	{
+		int low = Math.min(slot, otherSlot), high = Math.max(slot, otherSlot);
+		return ((long) low << 32) | (high & 0xFFFFFFFFL);
+	}
+	
+	private static <K> void post(HashMap<K, PostingList> map, K key, int position)
+	{
+		PostingList list = map.get(key);
+		if (list == null)
+		{
+			list = new PostingList();
+			map.put(key, list);
+		}
+		list.add(position);
+	}
+	
+	private static <K> HashMap<K, int[]> toArrays(HashMap<K, PostingList> lists)
+	{
+		HashMap<K, int[]> arrays = new HashMap<K, int[]>();
+		for (K key : lists.keySet())
+			arrays.put(key, lists.get(key).toArray());
+		
+		return arrays;
+	}
+		
+		//Accessors
+	public EventLog getEventLog()	{	return log;	}
+	public int size()	{	return rows.length;	}
+	/**	Lowest impact indexed (EventLog.IMPACT_SCALE)	*/
+	public int getThreshold()	{	return threshold;	}
+	
+	/**
+	  * A growable list of ints, used while building
+	  */
+	private static final class PostingList
+	{
+		private int[] items = new int[4];
+		private int size;
+		
+		private void add(int item)
+		{
+			if (size == items.length)
+				items = Arrays.copyOf(items, size*2);
+			items[size++] = item;
+		}
+		
+		private int[] toArray()	{	return Arrays.copyOf(items, size);	}
+	}
+}
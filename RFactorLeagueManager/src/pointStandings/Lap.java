@@ -2,77 +2,65 @@ package pointStandings;
 
 /**
   * A lap around the circuit.  Used in race related sessions.
+  * Laps read from a results file are views of a row in
+  * the session's LapTable, so they hold no stats themselves.
+  * Times in seconds are converted from the table's RaceTimes,
+  * and are NaN where the table has no time.
   * @author Richard Matthews
   */
 public class Lap
 {
 		//Variables
-	private float sector1, sector2, sector3;
-	private float startTime, totalTime;
-	private int lapNum, position;
-	private float fuel;
-	private boolean pit, completed;
+	private final LapTable table;
+	private final int row;
 	
+	/**
+	  * Creates a lap that is not part of a session
+	  */
 	public Lap()
 	{
-		setSector1(999.99f);
-		setSector2(999.99f);
-		setSector3(999.99f);
-		lapNum = 0;
-		position = 100;
-		fuel = 0.0f;
-		pit = completed = false;		
+		table = new LapTable(1);
+		row = table.addLap();
 	}
 	
-		//Mutators
-	public void setSector1(float time)
-	{
-		sector1 = time;
-		handleTime();
-	}
-	public void setSector2(float time)
-	{
-		sector2 = time;
-		handleTime();
-	}
-	public void setSector3(float time)
-	{
-		sector3 = time;
-		handleTime();
-	}
-	public void setFuel(float amount)	{	fuel = amount;	}
-	public void setPit(boolean pit)	{	this.pit = pit;	}
-	public void setLapNumber(int number)	{	lapNum = number;	}
-	public void setStartTime(float time)	{	startTime = time;	}
-	public void setPosition(int position)	{	this.position = position;	}
-	public void setCompleted(boolean isTrue)	{	completed = isTrue;	}
-	public void setLapTime(float time)	{	totalTime = time;	setCompleted(true);	}
-	
-		//Accessor
-	public float getSector1()	{	return sector1;	}
-	public float getSector2()	{	return sector2;	}
-	public float getSector3()	{	return sector3;	}
-	public float getStartTime()	{	return startTime;	}
-	public float getTotalTime()	{	return totalTime;	}
-	public int getLapNumber()	{	return lapNum;	}
-	public int getPosition()	{	return position;	}
-	public float getFuel()	{	return fuel;	}
-	public boolean isPitIn()	{	return pit;	}
-	public boolean isComplete()	{	return completed;	}
-	
 	/**
-	  * Creates a lap time out of the established 
-	  * sector times (If possible)
+	  * Creates a view of a lap in a session
+	  * @param table - The session's laps
+	  * @param row - Row of this lap
 	  */
-	private void handleTime()
+	Lap(LapTable table, int row)
 	{
-		if (sector1 > 800.0 || sector2 > 800.0 || sector3 > 800.0)
-		{
-			completed = false;
-			return;
-		}
-		
-		completed = true;
-		totalTime = sector1+sector2+sector3;
+		this.table = table;
+		this.row = row;
 	}
+		
+		//Mutators
+	public void setSector1(float time)	{	table.setSector1(row, RaceTime.fromSeconds(time));	}
+	public void setSector2(float time)	{	table.setSector2(row, RaceTime.fromSeconds(time));	}
+	public void setSector3(float time)	{	table.setSector3(row, RaceTime.fromSeconds(time));	}
+	public void setFuel(float amount)	{	table.setFuel(row, amount);	}
+	public void setPit(boolean pit)	{	table.setPit(row, pit);	}
+	public void setLapNumber(int number)	{	table.setLapNumber(row, number);	}
+	public void setStartTime(float time)	{	table.setStartTime(row, RaceTime.fromSeconds(time));	}
+	public void setPosition(int position)	{	table.setPosition(row, position);	}
+	public void setCompleted(boolean isTrue)	{	table.setCompleted(row, isTrue);	}
+	public void setLapTime(float time)	{	table.setLapTime(row, RaceTime.fromSeconds(time));	}
+		
+		//Accessor
+	public float getSector1()	{	return RaceTime.toSeconds(table.getSector1(row));	}
+	public float getSector2()	{	return RaceTime.toSeconds(table.getSector2(row));	}
+	public float getSector3()	{	return RaceTime.toSeconds(table.getSector3(row));	}
+	public float getStartTime()	{	return RaceTime.toSeconds(table.getStartTime(row));	}
+	public float getTotalTime()	{	return RaceTime.toSeconds(table.getTotalTime(row));	}
+	public int getLapNumber()	{	return table.getLapNumber(row);	}
+	public int getPosition()	{	return table.getPosition(row);	}
+	public float getFuel()	{	return table.getFuel(row);	}
+	public boolean isPitIn()	{	return table.isPitIn(row);	}
+	public boolean isComplete()	{	return table.isComplete(row);	}
+		//RaceTime accessors
+	public int getSector1Time()	{	return table.getSector1(row);	}
+	public int getSector2Time()	{	return table.getSector2(row);	}
+	public int getSector3Time()	{	return table.getSector3(row);	}
+	public int getElapsedTime()	{	return table.getStartTime(row);	}
+	public int getLapTime()	{	return table.getTotalTime(row);	}
 }
\ No newline at end of file
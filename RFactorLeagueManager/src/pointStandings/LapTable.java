@@ -0,0 +1,196 @@
+package pointStandings;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+  * Every lap run in a session, stored a column
+  * per stat instead of an object per lap.  Each
+  * driver's laps are a run of rows in the order
+  * they were read, so the driver only needs to
+  * know its first row and lap count.  Times
+  * are RaceTimes, NONE when not set.
+  * <br><br>
+  * Rows are only added while the session is read,
+  * so this is not thread safe.
+  * 
+  * @author Richard Matthews
+  * @version 1 (10-17-2026)
+  */
+public final class LapTable
+{
+	private int[] sector1, sector2, sector3;
+	private int[] lapTime, startTime;
+	private float[] fuel;
+	private int[] lapNumber, position;
+	private BitSet pit, completed;
+	private int size;
+	
+	public LapTable()	{	this(64);	}
+	
+	/**
+	  * Constructor
+	  * @param capacity - Laps to make room for at first
+	  */
+	public LapTable(int capacity)
+	{
+		capacity = Math.max(capacity, 1);
+		sector1 = new int[capacity];
+		sector2 = new int[capacity];
+		sector3 = new int[capacity];
+		lapTime = new int[capacity];
+		startTime = new int[capacity];
+		fuel = new float[capacity];
+		lapNumber = new int[capacity];
+		position = new int[capacity];
+		pit = new BitSet(capacity);
+		completed = new BitSet(capacity);
+		size = 0;
+	}
+	
+	/**
+	  * Adds a lap with default values
+	  * @return The row of the new lap
+	  */
+	public int addLap()
+	{
+		if (size == lapTime.length)
+			resize(size*2);
+		
+		int row = size++;
+		sector1[row] = sector2[row] = sector3[row] = RaceTime.NONE;
+		lapTime[row] = RaceTime.NONE;
+		startTime[row] = RaceTime.NONE;
+		fuel[row] = 0.0f;
+		lapNumber[row] = 0;
+		position[row] = 100;
+		pit.clear(row);
+		completed.clear(row);
+		
+		return row;
+	}
+	
+	/**
+	  * Adds a copy of a lap
+	  * @param lap - The lap to copy
+	  * @return The row of the new lap
+	  */
+	public int addLap(Lap lap)
+	{
+		int row = addLap();
+		sector1[row] = lap.getSector1Time();
+		sector2[row] = lap.getSector2Time();
+		sector3[row] = lap.getSector3Time();
+		lapTime[row] = lap.getLapTime();
+		startTime[row] = lap.getElapsedTime();
+		fuel[row] = lap.getFuel();
+		lapNumber[row] = lap.getLapNumber();
+		position[row] = lap.getPosition();
+		pit.set(row, lap.isPitIn());
+		completed.set(row, lap.isComplete());
+		
+		return row;
+	}
+	
+	/**
+	  * Drops unused room once the session is read
+	  */
+	public void trimToSize()
+	{
+		if (size < lapTime.length)
+			resize(size);
+	}
+	
+	private void resize(int capacity)
+	{
+		capacity = Math.max(capacity, 1);
+		sector1 = Arrays.copyOf(sector1, capacity);
+		sector2 = Arrays.copyOf(sector2, capacity);
+		sector3 = Arrays.copyOf(sector3, capacity);
+		lapTime = Arrays.copyOf(lapTime, capacity);
+		startTime = Arrays.copyOf(startTime, capacity);
+		fuel = Arrays.copyOf(fuel, capacity);
+		lapNumber = Arrays.copyOf(lapNumber, capacity);
+		position = Arrays.copyOf(position, capacity);
+	}
+	
+	/**
+	  * Gets a view of a lap, for code that wants Lap objects
+	  * @param row - Row of the lap
+	  * @return Lap backed by this table
+	  */
+	public Lap getLap(int row)	{	return new Lap(this, row);	}
+	
+	/**
+	  * Gets views of a run of laps
+	  * @param first - Row of the first lap
+	  * @param count - Number of laps
+	  * @return Laps backed by this table
+	  */
+	public Lap[] getLaps(int first, int count)
+	{
+		Lap[] laps = new Lap[count];
+		for (int i = 0; i < count; i++)
+			laps[i] = new Lap(this, first+i);
+		
+		return laps;
+	}
+		
+		//Accessors
+	public int size()	{	return size;	}
+	public int getSector1(int row)	{	return sector1[row];	}
+	public int getSector2(int row)	{	return sector2[row];	}
+	public int getSector3(int row)	{	return sector3[row];	}
+	public int getStartTime(int row)	{	return startTime[row];	}
+	public int getTotalTime(int row)	{	return lapTime[row];	}
+	public int getLapNumber(int row)	{	return lapNumber[row];	}
+	public int getPosition(int row)	{	return position[row];	}
+	public float getFuel(int row)	{	return fuel[row];	}
+	public boolean isPitIn(int row)	{	return pit.get(row);	}
+	public boolean isComplete(int row)	{	return completed.get(row);	}
+		
+		//Mutators
+	public void setSector1(int row, int time)
+	{
+		sector1[row] = time;
+		handleTime(row);
+	}
+	public void setSector2(int row, int time)
+	{
+		sector2[row] = time;
+		handleTime(row);
+	}
+	public void setSector3(int row, int time)
+	{
+		sector3[row] = time;
+		handleTime(row);
+	}
+	public void setFuel(int row, float amount)	{	fuel[row] = amount;	}
+	public void setPit(int row, boolean pitIn)	{	pit.set(row, pitIn);	}
+	public void setLapNumber(int row, int number)	{	lapNumber[row] = number;	}
+	public void setStartTime(int row, int time)	{	startTime[row] = time;	}
+	public void setPosition(int row, int place)	{	position[row] = place;	}
+	public void setCompleted(int row, boolean isTrue)	{	completed.set(row, isTrue);	}
+	public void setLapTime(int row, int time)
+	{
+		lapTime[row] = time;
+		completed.set(row, RaceTime.isSet(time));
+	}
+	
+	/**
+	  * Creates a lap time out of the established
+	  * sector times (If possible)
+	  */
+	private void handleTime(int row)
+	{
+		if (!RaceTime.isSet(sector1[row]) || !RaceTime.isSet(sector2[row]) || 
+				!RaceTime.isSet(sector3[row]))
+		{
+			completed.clear(row);
+			return;
+		}
+		
+		completed.set(row);
+		lapTime[row] = sector1[row]+sector2[row]+sector3[row];
+	}
+}
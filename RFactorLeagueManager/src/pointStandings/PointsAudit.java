@@ -0,0 +1,167 @@
+package pointStandings;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+
+import utilities.LogFileManager;
+import utilities.LogFileManager.Level;
+
+/**
+  * An append only record of every point awarded, kept
+  * apart from the trace.  Each award is a small fixed
+  * size binary record, and each driver's name is written
+  * once before their first award so the file can be read
+  * on its own (See PointsAuditReader).
+  * <br><br>
+  * Records are kept in a buffer and written in batches
+  * when it fills or flush() is called.
+  * <br><br>
+  * Record layout (Big endian):<br>
+  *   Name:  [1] driver ID (int), name length (short), UTF-8 name<br>
+  *   Award: [2] event ID (long), driver ID (int), rule (byte),
+  *   class flag (byte), points (int), detail (short)
+  * 
+  * @author Richard Matthews
+  * @version 1 (10-17-2026)
+  */
+public final class PointsAudit
+{
+	/**
+	  * What points were awarded for
+	  */
+	public static enum Rule
+	{
+		Qualifying,//Qualifying position (Detail = position)
+		QualifyingSector,//Fast sectors in qualifying (Detail = sectors)
+		Finish,//Finishing position (Detail = position)
+		LapsLed,//Leading a lap (Detail = laps led)
+		MostLapsLed,//Leading the most laps (Detail = laps led)
+		FastLap,//Fastest lap of the race
+		FastSector,//Fast sectors in the race (Detail = sectors)
+		MostGained,//Gaining the most positions (Detail = positions gained)
+		Penalty//Points taken away
+	}
+	
+	static final byte nameRecord = 1, awardRecord = 2;
+	static final int awardSize = 21;//Award record length, kind included
+	private static final String header = "PointsAudit";
+	static final String fileLocation = System.getProperty("user.dir")+
+			File.separator+"RFLM Files"+File.separator+"LOG"+File.separator+"Points.audit";
+	private final Path file;
+	private FileChannel channel;
+	private boolean started;//File replaced already, add to it from now on
+	private final ByteBuffer buffer = ByteBuffer.allocate(64*1024);
+	private final HashSet<Integer> named = new HashSet<Integer>();//Drivers with a name record
+	
+	/**
+	  * Audits to Points.audit in the LOG directory
+	  */
+	public PointsAudit()	{	this(Paths.get(fileLocation));	}
+	
+	/**
+	  * Constructor, the file is replaced on the first award
+	  * @param file - File to write the records to
+	  */
+	public PointsAudit(Path file)	{	this.file = file;	}
+	
+	/**
+	  * Records an award.  Awards of 0 points are skipped.
+	  * 
+	  * @param eventID - Event the points were scored in
+	  * @param driver - Driver scoring the points
+	  * @param rule - What the points are for
+	  * @param cla - True for class points, false for overall
+	  * @param points - Points awarded
+	  * @param detail - Position, lap count, etc (See Rule)
+	  */
+	public synchronized void award(long eventID, StandingsDriver driver, Rule rule,
+			boolean cla, int points, int detail)
+	{
+		if (points == 0)
+			return;
+		
+		int id = driver.getDriverID();
+		if (named.add(id))
+		{
+			byte[] name = driver.getName().getBytes(StandardCharsets.UTF_8);
+			int length = Math.min(name.length, Short.MAX_VALUE);
+			room(7+length);
+			buffer.put(nameRecord).putInt(id).putShort((short) length).put(name, 0, length);
+		}
+		
+		room(awardSize);
+		buffer.put(awardRecord).putLong(eventID).putInt(id).put((byte) rule.ordinal())
+				.put((byte) (cla ? 1 : 0)).putInt(points).putShort((short) detail);
+	}
+	
+	/**
+	  * Writes out the records waiting in the buffer
+	  */
+	public synchronized void flush()
+	{
+		if (buffer.position() == 0)
+			return;
+		
+		buffer.flip();
+		try
+		{
+			if (channel == null)
+			{
+				Files.createDirectories(file.toAbsolutePath().getParent());
+				channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+						started ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+				started = true;
+			}
+			while (buffer.hasRemaining())
+				channel.write(buffer);
+		}
+		catch (IOException e)
+		{
+			LogFileManager.logPrint(Level.Warning, header, "Could not write audit: "+
+					e.getMessage());
+		}
+		buffer.clear();
+	}
+	
+	/**
+	  * Writes out anything waiting and closes the file
+	  */
+	public synchronized void close()
+	{
+		flush();
+		try
+		{
+			if (channel != null)
+				channel.close();
+		}
+		catch (IOException e)
+		{
+			LogFileManager.logPrint(Level.Warning, header, "Could not close audit: "+
+					e.getMessage());
+		}
+		channel = null;
+	}
+	
+	/**
+	  * Gets the file the audit is written to
+	  * @return Path of the audit
+	  */
+	public Path getFile()	{	return file;	}
+	
+	/**
+	  * Writes the buffer out if a record won't fit
+	  */
+	private void room(int bytes)
+	{
+		if (buffer.remaining() < bytes)
+			flush();
+	}
+}
\ No newline at end of file
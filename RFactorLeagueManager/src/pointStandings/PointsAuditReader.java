@@ -0,0 +1,262 @@
+package pointStandings;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import pointStandings.PointsAudit.Rule;
+
+/**
+  * Answers "why does this driver have these points"
+  * from a PointsAudit file.  The file is read once,
+  * keeping the awards by driver, so a question only
+  * looks at that driver's awards.  refresh() reads
+  * only what was added since the last read.
+  * <br><br>
+  * Not thread safe.
+  * 
+  * @author Richard Matthews
+  * @version 1 (10-17-2026)
+  */
+public final class PointsAuditReader
+{
+	/**
+	  * A single award read from the audit
+	  */
+	public static final class Award
+	{
+		private final long eventID;
+		private final int driverID, points, detail;
+		private final Rule rule;
+		private final boolean cla;
+		
+		private Award(long eventID, int driverID, Rule rule, boolean cla, int points, int detail)
+		{
+			this.eventID = eventID;
+			this.driverID = driverID;
+			this.rule = rule;
+			this.cla = cla;
+			this.points = points;
+			this.detail = detail;
+		}
+		
+		public long getEventID()	{	return eventID;	}
+		public int getDriverID()	{	return driverID;	}
+		public Rule getRule()	{	return rule;	}
+		public boolean isClass()	{	return cla;	}
+		public int getPoints()	{	return points;	}
+		public int getDetail()	{	return detail;	}
+	}
+	
+	private static final Rule[] rules = Rule.values();
+	private final Path file;
+	private long readTo;//Bytes of the file read so far
+	private final HashMap<String, Integer> driverIDs = new HashMap<String, Integer>();//Name key -> ID
+	private final HashMap<Integer, String> names = new HashMap<Integer, String>();
+	private final HashMap<Integer, ArrayList<Award>> awards = new HashMap<Integer, ArrayList<Award>>();
+	
+	/**
+	  * Reads the audit file
+	  * @param file - Audit to read
+	  * @throws IOException - If the file can't be read
+	  */
+	public PointsAuditReader(Path file) throws IOException
+	{
+		this.file = file;
+		readTo = 0;
+		refresh();
+	}
+	
+	/**
+	  * Reads any records added since the last read.
+	  * A record cut off at the end is left for next time.
+	  * If the file got shorter it was replaced, so 
+	  * everything read is dropped and it is read again.
+	  * 
+	  * @return Number of awards read
+	  * @throws IOException - If the file can't be read
+	  */
+	public int refresh() throws IOException
+	{
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+		try
+		{
+			long size = channel.size();
+			if (size < readTo)
+			{
+				readTo = 0;
+				driverIDs.clear();
+				names.clear();
+				awards.clear();
+			}
+			if (size <= readTo)
+				return 0;
+			
+			ByteBuffer data = ByteBuffer.allocate((int) Math.min(size-readTo, Integer.MAX_VALUE));
+			while (data.hasRemaining() && channel.read(data, readTo+data.position()) >= 0);
+			data.flip();
+			
+			int count = 0;
+			while (data.hasRemaining())
+			{
+				int start = data.position();
+				if (!readRecord(data))
+				{
+					data.position(start);
+					break;
+				}
+				if (data.get(start) == PointsAudit.awardRecord)
+					count++;
+			}
+			readTo += data.position();
+			
+			return count;
+		}
+		finally
+		{
+			channel.close();
+		}
+	}
+	
+	/**
+	  * Reads one record
+	  * @return False if the record is cut off
+	  */
+	private boolean readRecord(ByteBuffer data) throws IOException
+	{
+		byte kind = data.get();
+		if (kind == PointsAudit.nameRecord)
+		{
+			if (data.remaining() < 6)
+				return false;
+			int id = data.getInt();
+			int length = data.getShort();
+			if (data.remaining() < length)
+				return false;
+			byte[] name = new byte[length];
+			data.get(name);
+			String text = new String(name, StandardCharsets.UTF_8);
+			names.put(id, text);
+			driverIDs.put(DriverManager.nameKey(text), id);
+			return true;
+		}
+		if (kind == PointsAudit.awardRecord)
+		{
+			if (data.remaining() < PointsAudit.awardSize-1)
+				return false;
+			long eventID = data.getLong();
+			int id = data.getInt();
+			byte ruleIndex = data.get();
+			if (ruleIndex < 0 || ruleIndex >= rules.length)
+				throw new IOException("Unknown audit rule "+ruleIndex+" at byte "+
+						(readTo+data.position()-1));
+			Rule rule = rules[ruleIndex];
+			boolean cla = data.get() != 0;
+			int points = data.getInt();
+			int detail = data.getShort();
+			
+			ArrayList<Award> list = awards.get(id);
+			if (list == null)
+			{
+				list = new ArrayList<Award>();
+				awards.put(id, list);
+			}
+			list.add(new Award(eventID, id, rule, cla, points, detail));
+			return true;
+		}
+		
+		throw new IOException("Unknown audit record "+kind+" at byte "+
+				(readTo+data.position()-1));
+	}
+	
+	/**
+	  * Gets the ID of a driver in the audit
+	  * @param name - Name of the driver (Case and spacing ignored)
+	  * @return The driver's ID, or -1 if the driver has no awards
+	  */
+	public int getDriverID(String name)
+	{
+		Integer id = driverIDs.get(DriverManager.nameKey(name));
+		return (id == null) ? -1 : id;
+	}
+	
+	/**
+	  * Gets a driver's name from the audit
+	  * @param driverID - ID of the driver
+	  * @return The name, or null if not in the audit
+	  */
+	public String getName(int driverID)	{	return names.get(driverID);	}
+	
+	/**
+	  * Gets every award to a driver, in the order awarded
+	  * @param driverID - ID of the driver
+	  * @return The awards (Empty if none)
+	  */
+	public List<Award> getAwards(int driverID)
+	{
+		ArrayList<Award> list = awards.get(driverID);
+		if (list == null)
+			return new ArrayList<Award>();
+		
+		return new ArrayList<Award>(list);
+	}
+	
+	/**
+	  * Adds up a driver's awards
+	  * @param driverID - ID of the driver
+	  * @param cla - True for class points, false for overall
+	  * @return Total points awarded
+	  */
+	public int getTotal(int driverID, boolean cla)
+	{
+		int total = 0;
+		for (Award award : getAwards(driverID))
+			if (award.isClass() == cla)
+				total += award.getPoints();
+		
+		return total;
+	}
+	
+	/**
+	  * Explains a driver's points, award by award
+	  * @param name - Name of the driver
+	  * @param cla - True for class points, false for overall
+	  * @return One line per award and a total line
+	  */
+	public String explain(String name, boolean cla)
+	{
+		String newLine = System.getProperty("line.separator");
+		int id = getDriverID(name);
+		if (id == -1)
+			return name+" has no points awarded"+newLine;
+		
+		List<Award> list = getAwards(id);
+		StringBuilder out = new StringBuilder();
+		int total = 0;
+		for (Award award : list)
+		{
+			if (award.isClass() != cla)
+				continue;
+			total += award.getPoints();
+			char[] padding = new char[Math.max(1, 18-award.getRule().name().length())];
+			Arrays.fill(padding, ' ');
+			out.append("Event #").append(award.getEventID()).append("  ")
+					.append(award.getRule().name()).append(padding)
+					.append(award.getPoints() > 0 ? "+" : "").append(award.getPoints());
+			if (award.getDetail() != 0)
+				out.append("  [").append(award.getDetail()).append("]");
+			out.append(newLine);
+		}
+		out.append(getName(id)).append(" has ").append(total).append(" points")
+				.append(cla ? " [Class]" : " [Overall]").append(newLine);
+		
+		return out.toString();
+	}
+}
\ No newline at end of file
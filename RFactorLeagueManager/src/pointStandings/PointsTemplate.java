@@ -1,5 +1,7 @@
 package pointStandings;
 
+import pointStandings.StandingsComparator.TieBreaker;
+
 /**
   * Keeps track of the amount of points scored for accomplishing a variety of feats
   * 
@@ -8,11 +10,14 @@ package pointStandings;
   */
 public final class PointsTemplate
 {
+	private static final TieBreaker[] defaultTieBreakers = {TieBreaker.Wins,
+			TieBreaker.Countback, TieBreaker.MostRecent};//Order ties are broken in by default
 		//Basic
 	private boolean mirrorOwner;//Driver points = owner points
 	private boolean outputFile, fullOutput;//Output file vars
 	private boolean individualQualiCSVs, individualRaceCSVs;//CSV vars
 	private boolean classPoints;//Also find out class points
+	private TieBreaker[] tieBreakers;//Order to break ties in points
 		//Qualifying
 	private int[] qualifyingPosition;//Points for qualifying position
 	private int qualiFastSector;//Points for fast sector in qualifying
@@ -42,6 +47,7 @@ public final class PointsTemplate
 		individualRaceCSVs = true;
 		mirrorOwner = true;
 		classPoints = true;//TODO Make this true
+		tieBreakers = defaultTieBreakers.clone();
 			//Qualifying points
 		int[] tempInt1 = {3, 0, 0};
 		qualifyingPosition = tempInt1;
@@ -77,6 +83,7 @@ public final class PointsTemplate
 		individualRaceCSVs = true;
 		mirrorOwner = true;
 		classPoints = true;//TODO Make this true
+		tieBreakers = defaultTieBreakers.clone();
 			//Qualifying points
 		int[] tempInt1 = {3, 0, 0};
 		qualifyingPosition = tempInt1;
@@ -99,9 +106,10 @@ public final class PointsTemplate
 		dnfPoints = -1;//-1 means inactive
 		dnfPenalty = 0;
 	}
-	
+		
 		//Accessors
 	public boolean shouldClassPoints()	{	return classPoints;	}
+	public TieBreaker[] getTieBreakers()	{	return tieBreakers.clone();	}
 	public int pointsMostGained()	{	return mostGainedBonus;	}
 	public int pointsQualiFastSector()	{	return qualiFastSector;	}
 	public int pointsRaceFastLap()	{	return raceFastLap;	}
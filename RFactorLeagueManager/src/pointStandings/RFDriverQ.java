@@ -16,11 +16,12 @@ import utilities.LogFileManager;
 public class RFDriverQ extends Driver
 {
 	private static final String header = "Quali Driver";
-	
+		
 		//Time vars
-	private Lap[] laps;
+	private LapTable laps;//The session's laps
+	private int firstLap, lapCount;//This driver's rows in laps
 	private int timedLaps;
-	private float sector1, sector2, sector3;
+	private int sector1, sector2, sector3;//RaceTimes
 	private int sector1Lap, sector2Lap, sector3Lap;
 	private double avgLap;
 	private int fastLap;//Tracks lap number of the fastest lap
@@ -45,11 +46,11 @@ public class RFDriverQ extends Driver
 	public RFDriverQ(String name, String carClass)
 	{
 		LogFileManager.logPrint(header, "Partial constructor 1");
-
+		
 		initializeDefault();
 		setName(name);
 		setCarClass(carClass);
-		sector1 = sector2 = sector3 = 999.99f;
+		sector1 = sector2 = sector3 = RaceTime.NONE;
 	}
 	
 	/**
@@ -68,7 +69,7 @@ public class RFDriverQ extends Driver
 		setCarNumber(carNumber);
 		setTeamName(teamName);
 		setCarClass(carClass);
-		sector1 = sector2 = sector3 = 999.99f;
+		sector1 = sector2 = sector3 = RaceTime.NONE;
 	}
 	
 	/**
@@ -91,18 +92,19 @@ public class RFDriverQ extends Driver
 		setTeamName(teamName);
 		setCarClass(carClass);
 		setPlayer(isPlayer);
-		sector1 = sector2 = sector3 = 999.99f;
+		sector1 = sector2 = sector3 = RaceTime.NONE;
 	}
 	
 	protected void initializeDefault()
 	{
 		super.initializeDefault();
 		laps = null;
-		sector1 = 999.99f;
-		sector2 = 999.99f;
-		sector3 = 999.99f;
+		firstLap = lapCount = 0;
+		sector1 = RaceTime.NONE;
+		sector2 = RaceTime.NONE;
+		sector3 = RaceTime.NONE;
 		sector1Lap = sector2Lap = sector3Lap = 0;
-		avgLap = 999.99;
+		avgLap = 0.0;
 		fastLap = -1;
 		timedLaps = 0;
 		reason = null;
@@ -122,42 +124,67 @@ public class RFDriverQ extends Driver
 	  * @return True if successful
 	  */
 	public boolean submitTimes(Lap[] times)
+	{
+		//Handle empty array
+		if (times == null || times.length == 0)
+			return submitTimes("Did not compete");
+		
+		LapTable table = new LapTable(times.length);
+		for (int i = 0; i < times.length; i++)
+			table.addLap(times[i]);
+		
+		return submitTimes(table, 0, times.length);
+	}
+	
+	/**
+	  * Submit the times for this driver for this session,
+	  * straight from the session's lap table.
+	  * The calculations for average and fast times are done here.
+	  * 
+	  * @param table - The laps for the session
+	  * @param first - Row of the driver's first lap
+	  * @param count - Number of laps the driver ran
+	  * @return True if successful
+	  */
+	public boolean submitTimes(LapTable table, int first, int count)
 	{
 		LogFileManager.logPrint(header, "Handling lap times");
 		
 		//Handle empty array
-		if (times.length == 0 || times == null)
+		if (count == 0)
 			return submitTimes("Did not compete");
 		
 		//Handle lap stats
 		int fast = fastLap;
-		double total = 0.0;
-		int count = 0;
-		for(int i = 0; i < times.length; i++)
+		long total = 0;
+		int timed = 0;
+		for(int i = 0; i < count; i++)
 		{
 			//Average and fast laps
-			if (times[i].getTotalTime() < 800.0 && times[i].isComplete())
+			if (RaceTime.isSet(table.getTotalTime(first+i)) && table.isComplete(first+i))
 			{
-				count++;
-				total += times[i].getTotalTime();
+				timed++;
+				total += table.getTotalTime(first+i);
 				if (fast == -1)
 					fast = i;
 				else
-					if (times[fast].getTotalTime() > times[i].getTotalTime())
+					if (table.getTotalTime(first+fast) > table.getTotalTime(first+i))
 						fast = i;
 			}
 			
 			//Find sector stats
-			setSector1Time(times[i].getSector1(), i+1);
-			setSector2Time(times[i].getSector2(), i+1);
-			setSector3Time(times[i].getSector3(), i+1);
+			setSector1Time(table.getSector1(first+i), i+1);
+			setSector2Time(table.getSector2(first+i), i+1);
+			setSector3Time(table.getSector3(first+i), i+1);
 		}
 		
 		//Record said laps
-		laps = times;
+		laps = table;
+		firstLap = first;
+		lapCount = count;
 		fastLap = fast;
-		avgLap = total/count;
-		timedLaps = count;
+		avgLap = total/(double) timed/RaceTime.PER_SECOND;
+		timedLaps = timed;
 		
 		return true;
 	}
@@ -177,6 +204,7 @@ public class RFDriverQ extends Driver
 		finished = false;
 		reason = out;
 		laps = null;
+		lapCount = 0;
 		fastLap = 0;
 		avgLap = 0.0;
 		return true;
@@ -192,21 +220,31 @@ public class RFDriverQ extends Driver
 	public int getOverallPosition()	{	return position;	}
 	public int getClassPosition()	{	return classPosition;	}
 		//Lap functions
-	public Lap[] getLapTimes()	{	return laps;	}
+	public Lap[] getLapTimes()	{	return (laps == null) ? null : laps.getLaps(firstLap, lapCount);	}
 	public double getAverageLap()	{	return avgLap;	}
-		/**	Gets the time for the fastest lap	*/
-	public float getFastestTime()
+		/**	Gets the time for the fastest lap (NaN if no time)	*/
+	public float getFastestTime()	{	return RaceTime.toSeconds(getFastestRaceTime());	}
+		/**	Gets the time for the fastest lap as a RaceTime	*/
+	public int getFastestRaceTime()
 	{
-		if (fastLap != -1)
-			return laps[fastLap].getTotalTime();
+		if (fastLap != -1 && laps != null)
+			return laps.getTotalTime(firstLap+fastLap);
 		else
-			return 999.9f;
+			return RaceTime.NONE;
 	}
 		/**	Gets the lap number on which the fastest lap occurred	*/
 	public int getFastestLap()	{	return fastLap;	}
-	/**	Gets the lap specified by the three best sector times	*/
-	public float getDreamLap()	{	return sector1+sector2+sector3;	}
-	public int getLapCount()	{	return laps.length;	}
+	/**	Gets the lap specified by the three best sector times (NaN if a sector has no time)	*/
+	public float getDreamLap()	{	return RaceTime.toSeconds(getDreamRaceTime());	}
+	/**	Gets the dream lap as a RaceTime, NONE if a sector has no time	*/
+	public int getDreamRaceTime()
+	{
+		if (!RaceTime.isSet(sector1) || !RaceTime.isSet(sector2) || !RaceTime.isSet(sector3))
+			return RaceTime.NONE;
+		
+		return sector1+sector2+sector3;
+	}
+	public int getLapCount()	{	return lapCount;	}
 	public int getTimedLapCount()	{	return timedLaps;	}
 	/**
 	  * Gets the lap number that the driver
@@ -226,20 +264,29 @@ public class RFDriverQ extends Driver
 	  * 
 	  * @param sector - The sector to check (1, 2, or 3)
 	  * @return The fast time for the sector, or
-	  * 	999.99 if an unspecified sector or no time set.
+	  * 	NaN if an unspecified sector or no time set.
 	  */
 	public float getSectorTime(int sector)
+	{
+		return RaceTime.toSeconds(getSectorRaceTime(sector));
+	}
+	/**
+	  * Gets the fast time for the sector specified
+	  * @param sector - The sector to check (1, 2, or 3)
+	  * @return The fast time as a RaceTime, or NONE
+	  */
+	public int getSectorRaceTime(int sector)
 	{
 		if (sector == 1)	return sector1;
 		if (sector == 2)	return sector2;
 		if (sector == 3)	return sector3;
-		return 999.99f;
+		return RaceTime.NONE;
 	}
 	
 	//Mutators
 	public void setPosition(int position)	{	this.position = position;	}
 	public void setClassPosition(int position)	{	classPosition = position;	}
-	public void setSector1Time(float time, int lapNum)
+	public void setSector1Time(int time, int lapNum)
 	{
 		if (time < sector1)
 		{
@@ -247,7 +294,7 @@ public class RFDriverQ extends Driver
 			sector1Lap = lapNum;
 		}
 	}
-	public void setSector2Time(float time, int lapNum)
+	public void setSector2Time(int time, int lapNum)
 	{
 		if (time < sector2)
 		{
@@ -255,7 +302,7 @@ public class RFDriverQ extends Driver
 			sector2Lap = lapNum;
 		}
 	}
-	public void setSector3Time(float time, int lapNum)
+	public void setSector3Time(int time, int lapNum)
 	{
 		if (time < sector3)
 		{
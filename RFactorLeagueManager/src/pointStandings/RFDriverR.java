@@ -1,6 +1,7 @@
 package pointStandings;
 
 import utilities.LogFileManager;
+import utilities.LogFileManager.Level;
 
 /**
   * A record of a driver in a race.  The
@@ -17,10 +18,11 @@ import utilities.LogFileManager;
 public class RFDriverR extends Driver
 {
 	private static final String header = "Race Driver";
-	
+		
 		//Time vars
-	private Lap[] laps;
-	private float sector1, sector2, sector3;
+	private LapTable laps;//The session's laps
+	private int firstLap;//Row of this driver's first lap in laps
+	private int sector1, sector2, sector3;//RaceTimes
 	private int sector1Lap, sector2Lap, sector3Lap;//Lap of best sector
 	private float avgLap;
 	private int fastLap, pitStahps;//Lap # of fastest lap, & lol @ stahp
@@ -58,7 +60,7 @@ public class RFDriverR extends Driver
 		LogFileManager.logPrint(header, "Partial constructor 2");
 		
 		initializeDefault();
-
+		
 		setName(name);
 		setCarClass(carClass);
 	}
@@ -108,9 +110,9 @@ public class RFDriverR extends Driver
 		super.initializeDefault();
 		pitStahps = 0;
 		pitTime = 0.0f;
-		sector1 = 999.99f;
-		sector2 = 999.99f;
-		sector3 = 999.99f;
+		sector1 = RaceTime.NONE;
+		sector2 = RaceTime.NONE;
+		sector3 = RaceTime.NONE;
 		sector1Lap = 0;
 		sector2Lap = 0;
 		sector3Lap = 0;
@@ -131,14 +133,37 @@ public class RFDriverR extends Driver
 	  * @return True if successful
 	  */
 	public boolean submitTimes(Lap[] times)
+	{
+		//Handle empty array
+		if (times == null || times.length == 0)
+			return submitTimes(new LapTable(1), 0, 0);
+		
+		LapTable table = new LapTable(times.length);
+		for (int i = 0; i < times.length; i++)
+			table.addLap(times[i]);
+		
+		return submitTimes(table, 0, times.length);
+	}
+	
+	/**
+	  * Submit the times for this driver for this session,
+	  * straight from the session's lap table.
+	  * The calculations for average and fast times are done here.
+	  * 
+	  * @param table - The laps for the session
+	  * @param first - Row of the driver's first lap
+	  * @param lapCount - Number of laps the driver ran
+	  * @return True if successful
+	  */
+	public boolean submitTimes(LapTable table, int first, int lapCount)
 	{
 		LogFileManager.logPrint(header, "Checking laps");
 		
 		//Set lap amount
-		lapsComplete = times.length;
+		lapsComplete = lapCount;
 		
 		//Handle empty array
-		if (times.length == 0 || times == null)
+		if (lapCount == 0)
 		{
 			setDNF("No laps completed");
 			return false;
@@ -146,68 +171,85 @@ public class RFDriverR extends Driver
 		
 		//Deal with laps
 		int fast = 0;
-		double total = 0.0;
-		float tempPit = 0.0f;
+		long total = 0, tempPit = 0;
 		pitStahps = 0;
 		int count = 0, pitLaps = 0, lastPit = -1;
 		for(int i = 0; i < lapsComplete; i++)
 		{
 			//Find average lap
-			if (times[i].getTotalTime() < 800.0 && !times[i].isPitIn())
+			if (RaceTime.isSet(table.getTotalTime(first+i)) && !table.isPitIn(first+i))
 			{
 				count++;
-				total += times[i].getTotalTime();
-				if (times[fast].getTotalTime() > times[i].getTotalTime())
+				total += table.getTotalTime(first+i);
+				if (table.getTotalTime(first+fast) > table.getTotalTime(first+i))
 					fast = i;
 			}
 			
 			//Find sector stats
-			setSector1Time(times[i].getSector1(), i+1);
-			setSector2Time(times[i].getSector2(), i+1);
-			setSector3Time(times[i].getSector3(), i+1);
+			setSector1Time(table.getSector1(first+i), i+1);
+			setSector2Time(table.getSector2(first+i), i+1);
+			setSector3Time(table.getSector3(first+i), i+1);
 			
 			//Find pit stats
-			if (times[i].isPitIn())
+			if (table.isPitIn(first+i))
 			{
 				pitStahps++;
-				pitLaps++;
-				tempPit += times[i+1].getTotalTime();
+				if (i+1 < lapsComplete)
+				{
+					pitLaps++;
+					tempPit += pitLapTime(table, first+i+1);
+				}
 				
 				//Handle pit stops on previous laps 
 				if (lastPit < i-1)
 				{
 					pitLaps++;
-					tempPit += times[i].getTotalTime();
+					tempPit += pitLapTime(table, first+i);
 				}
 				if (lastPit < i-2)
 				{
 					pitLaps++;
-					tempPit += times[i-1].getTotalTime();
+					tempPit += pitLapTime(table, first+i-1);
 				}
 				
 				lastPit = i;
 			}
 			
 			//Record overall laps led
-			if (times[i].getPosition() == 1)
+			if (table.getPosition(first+i) == 1)
 				overallLapsLed++;
 			
 			//Record finish time on a DNF
 			if (finishTime < 1 && i == (lapsComplete-1))
-				finishTime = times[i].getStartTime();
+			{
+				int start = table.getStartTime(first+i);
+				if (RaceTime.isSet(start))
+					finishTime = RaceTime.toSeconds(start);
+			}
 		}
 		
 		//Record lap related variables
-		laps = times;
+		laps = table;
+		firstLap = first;
 		fastLap = fast;
-		avgLap = (float) (total/count);
+		avgLap = (float) (total/(double) count)/RaceTime.PER_SECOND;
 		avgLap = shortenTime(avgLap);
-		pitTime = tempPit-(avgLap*pitLaps);
+		pitTime = RaceTime.toSeconds((int) tempPit)-(avgLap*pitLaps);
 		classLapsLed = overallLapsLed;//TODO Change in future versions
 		
 		return true;
 	}
 	
+	/**
+	  * Time of a lap around a pit stop, laps
+	  * without a time don't add anything
+	  */
+	private static int pitLapTime(LapTable table, int row)
+	{
+		int time = table.getTotalTime(row);
+		return RaceTime.isSet(time) ? time : 0;
+	}
+	
 	//Accessors
 		//Status functions
 	/**	Did the player run too many laps, crash a competitor, etc?	*/
@@ -222,12 +264,27 @@ public class RFDriverR extends Driver
 	public float getPitTime()	{	return pitTime;	}
 	public int getPitStops()	{	return pitStahps;	}
 		//Lap functions
-	public Lap[] getLapTimes()	{	return laps;	}
+	public Lap[] getLapTimes()	{	return (laps == null) ? null : laps.getLaps(firstLap, lapsComplete);	}
+		/**	Gets the row of the driver's first lap in the session's LapTable	*/
+	public int getFirstLapRow()	{	return firstLap;	}
 	public double getAverageLap()	{	return avgLap;	}
-		/**	Gets the lap specified by the three best sector times	*/
-	public float getDreamLap()	{	return sector1+sector2+sector3;	}
-		/**	Gets the time for the fastest lap	*/
-	public float getFastestTime()	{	return shortenTime(laps[fastLap].getTotalTime());	}
+		/**	Gets the lap specified by the three best sector times (NaN if a sector has no time)	*/
+	public float getDreamLap()	{	return RaceTime.toSeconds(getDreamRaceTime());	}
+		/**	Gets the time for the fastest lap (NaN if no time)	*/
+	public float getFastestTime()	{	return RaceTime.toSeconds(getFastestRaceTime());	}
+		/**	Gets the dream lap as a RaceTime, NONE if a sector has no time	*/
+	public int getDreamRaceTime()
+	{
+		if (!RaceTime.isSet(sector1) || !RaceTime.isSet(sector2) || !RaceTime.isSet(sector3))
+			return RaceTime.NONE;
+		
+		return sector1+sector2+sector3;
+	}
+		/**	Gets the fastest lap as a RaceTime	*/
+	public int getFastestRaceTime()
+	{
+		return (laps == null) ? RaceTime.NONE : laps.getTotalTime(firstLap+fastLap);
+	}
 		/**	Gets the lap number on which the fastest lap occurred	*/
 	public int getFastestLap()	{	return fastLap;	}
 	public int getLapCount()	{	return lapsComplete;	}
@@ -243,19 +300,12 @@ public class RFDriverR extends Driver
 	  */
 	public int getLapPosition(int lapNum)
 	{
-		LogFileManager.logPrint(header, "Checking lap position for lap "+lapNum);
+		LogFileManager.logPrint(Level.Trace, header, () -> "Checking lap position for lap "+lapNum);
 		
 		int position = 0;
 		
-		try
-		{
-			Lap lap = laps[lapNum-1];
-			position = lap.getPosition();
-		}
-		catch (ArrayIndexOutOfBoundsException ex)
-		{
-			ex.printStackTrace();
-		}
+		if (laps != null && lapNum > 0 && lapNum <= lapsComplete)
+			position = laps.getPosition(firstLap+lapNum-1);
 		
 		return position;
 	}
@@ -277,14 +327,23 @@ public class RFDriverR extends Driver
 	  * 
 	  * @param sector - The sector to check (1, 2, or 3)
 	  * @return The fast time for the sector, or
-	  * 	999.99 if an unspecified sector or no time set.
+	  * 	NaN if an unspecified sector or no time set.
 	  */
 	public float getSectorTime(int sector)
+	{
+		return RaceTime.toSeconds(getSectorRaceTime(sector));
+	}
+	/**
+	  * Gets the fast time for the sector specified
+	  * @param sector - The sector to check (1, 2, or 3)
+	  * @return The fast time as a RaceTime, or NONE
+	  */
+	public int getSectorRaceTime(int sector)
 	{
 		if (sector == 1)	return sector1;
 		if (sector == 2)	return sector2;
 		if (sector == 3)	return sector3;
-		return 999.99f;
+		return RaceTime.NONE;
 	}
 	
 	//Mutators
@@ -302,7 +361,7 @@ public class RFDriverR extends Driver
 	/**
 	  * This seems pretty self explanatory (Same with other sectors)
 	  */
-	public void setSector1Time(float time, int lapNum)
+	public void setSector1Time(int time, int lapNum)
 	{
 		if (time < sector1)
 		{
@@ -310,7 +369,7 @@ public class RFDriverR extends Driver
 			sector1Lap = lapNum;
 		}
 	}
-	public void setSector2Time(float time, int lapNum)
+	public void setSector2Time(int time, int lapNum)
 	{
 		if (time < sector2)
 		{
@@ -318,7 +377,7 @@ public class RFDriverR extends Driver
 			sector2Lap = lapNum;
 		}
 	}
-	public void setSector3Time(float time, int lapNum)
+	public void setSector3Time(int time, int lapNum)
 	{
 		if (time < sector3)
 		{
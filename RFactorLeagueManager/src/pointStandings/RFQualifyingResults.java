@@ -1,9 +1,10 @@
 package pointStandings;
 
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.LinkedList;
 
 import utilities.LogFileManager;
+import utilities.LogFileManager.Level;
 
 /**
   * A class for storing the results of 
@@ -14,9 +15,9 @@ import utilities.LogFileManager;
 public class RFQualifyingResults extends Results
 {
 	private String header = "Qualifying Results";
-	
+		
 		//List of drivers competing
-	private LinkedList<RFDriverQ> drivers;//The drivers in qualifying
+	private ArrayList<RFDriverQ> drivers;//The drivers in qualifying
 		//Timing stats
 	private int laps, time;
 	private RFDriverQ[] fastestDrivers;//Fastest for each class
@@ -27,7 +28,6 @@ public class RFQualifyingResults extends Results
 	//Setting up for a future version here
 //	private boolean calculated;
 	
-	//TODO Detect incidents in future
 	//TODO Track overall lead progression
 	//TODO Track individual position progression?
 	
@@ -103,11 +103,18 @@ public class RFQualifyingResults extends Results
 	public float getContactThreshold()	{	return contactThreshold;	}
 	public RFDriverQ[] getFastestLap()	{	return fastestDrivers;	}
 	public RFDriverQ getPoleWinner()	{	return pole;	}
-	public float getDreamLap()
+	/**	Gets the session's dream lap (NaN if a sector has no time)	*/
+	public float getDreamLap()	{	return RaceTime.toSeconds(getDreamRaceTime());	}
+	/**	Gets the session's dream lap as a RaceTime, NONE if a sector has no time	*/
+	public int getDreamRaceTime()
 	{
-		return getSectorDriver(1).getSectorTime(1)+
-				getSectorDriver(2).getSectorTime(2)+
-				getSectorDriver(3).getSectorTime(3);
+		int sector1 = getSectorDriver(1).getSectorRaceTime(1);
+		int sector2 = getSectorDriver(2).getSectorRaceTime(2);
+		int sector3 = getSectorDriver(3).getSectorRaceTime(3);
+		if (!RaceTime.isSet(sector1) || !RaceTime.isSet(sector2) || !RaceTime.isSet(sector3))
+			return RaceTime.NONE;
+		
+		return sector1+sector2+sector3;
 	}
 	/**
 	  * Gets the driver that set the fast time 
@@ -123,6 +130,13 @@ public class RFQualifyingResults extends Results
 		return null;
 	}
 	public Iterator<RFDriverQ> getDriverIterator()	{	return new DriverIterator(drivers);	}
+	public int getDriverCount()	{	return drivers.size();	}
+	/**
+	  * Gets a driver in the order they were listed
+	  * @param index - Index of the driver, from 0
+	  * @return The driver at the index
+	  */
+	public RFDriverQ getDriver(int index)	{	return drivers.get(index);	}
 	
 	//Mutators
 	/**
@@ -137,7 +151,7 @@ public class RFQualifyingResults extends Results
 	public boolean addDriver(RFDriverQ driver)
 	{
 		//Check existing drivers
-		if(drivers.contains(driver))
+		if (isFrozen() || drivers.contains(driver))
 			return false;
 		
 		LogFileManager.logPrint(header, "Adding Driver");
@@ -180,15 +194,15 @@ public class RFQualifyingResults extends Results
 				classPos = i;
 		
 		//Set fast lap (If fastest)
-		double lap = driver.getFastestTime();
+		int lap = driver.getFastestRaceTime();
 		boolean fastest = false;
-		if (lap != 0.0f || lap != 999.9f)
-			if (lap < fastestDrivers[classPos].getFastestTime())
+		if (RaceTime.isSet(lap))
+			if (lap < fastestDrivers[classPos].getFastestRaceTime())
 			{
 				fastestDrivers[classPos] = driver;
 				fastest = true;
 			}
-		
+			
 			//If one is null, all are null
 		if (driverS1 == null)
 		{
@@ -216,24 +230,24 @@ public class RFQualifyingResults extends Results
 	  */
 	private boolean setSectorTime(RFDriverQ driver, int sector)
 	{
-		LogFileManager.logPrint(header, "Checking sector "+sector+" time");
+		LogFileManager.logPrint(Level.Trace, header, () -> "Checking sector "+sector+" time");
 		
 		if (sector == 1)
-			if (driver.getSectorTime(1) < driverS1.getSectorTime(1))
+			if (driver.getSectorRaceTime(1) < driverS1.getSectorRaceTime(1))
 			{
 				driverS1 = driver;
 				return true;
 			}
 		
 		if (sector == 2)
-			if (driver.getSectorTime(2) < driverS2.getSectorTime(2))
+			if (driver.getSectorRaceTime(2) < driverS2.getSectorRaceTime(2))
 			{
 				driverS2 = driver;
 				return true;
 			}
 		
 		if (sector == 3)
-			if (driver.getSectorTime(3) < driverS3.getSectorTime(3))
+			if (driver.getSectorRaceTime(3) < driverS3.getSectorRaceTime(3))
 			{
 				driverS3 = driver;
 				return true;
@@ -242,11 +256,20 @@ public class RFQualifyingResults extends Results
 		return false;
 	}
 	
+	/**
+	  * Stops drivers being added
+	  */
+	public void freeze()
+	{
+		super.freeze();
+		drivers.trimToSize();
+	}
+	
 	//Other functions
 	protected void initializeDefault()
 	{
 		super.initializeDefault();
-		drivers = new LinkedList<RFDriverQ>();
+		drivers = new ArrayList<RFDriverQ>();
 		fastestDrivers = new RFDriverQ[1];
 		fastestDrivers[0] = null;
 		driverS1 = null;
@@ -268,8 +291,9 @@ public class RFQualifyingResults extends Results
 		LogFileManager.logPrint(header, "Finding difference in drivers");
 		String time = "-------";
 		
-		//If not pole winner
-		if (driver.getOverallPosition() != 1)
+		//If not pole winner, and both have a time
+		if (driver.getOverallPosition() != 1 && RaceTime.isSet(driver.getFastestRaceTime()) && 
+				RaceTime.isSet(pole.getFastestRaceTime()))
 		{
 			float difference = (float) (driver.getFastestTime()-pole.getFastestTime());
 			time = "+"+RFDriverR.shortenTime(difference);
@@ -288,9 +312,9 @@ public class RFQualifyingResults extends Results
 	private class DriverIterator implements Iterator<RFDriverQ>
 	{
 		private int position;
-		private LinkedList<RFDriverQ> list;
+		private ArrayList<RFDriverQ> list;
 		
-		public DriverIterator(LinkedList<RFDriverQ> drivers)
+		public DriverIterator(ArrayList<RFDriverQ> drivers)
 		{
 			list = drivers;
 			position = 0;
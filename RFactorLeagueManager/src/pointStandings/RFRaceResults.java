@@ -1,7 +1,10 @@
 package pointStandings;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.List;
 
 import utilities.LogFileManager;
 
@@ -16,16 +19,17 @@ public class RFRaceResults extends Results
 	private String header = "Race Results";
 	
 	//TODO Add IDs to drivers?		(The job of the DriverManager)
-	//TODO Incidents
 	//TODO Add in config file stats
 		//List of drivers competing
-	private LinkedList<RFDriverR> drivers;//The drivers in qualifying
+	private ArrayList<RFDriverR> drivers;//The drivers in the race
 		//Timing stats
 	private RFDriverR[] fastestDrivers;//Fastest lap in each class
 	private RFDriverR fastestOverallDriver;//Fastest driver overall
 	private RFDriverR driverS1, driverS2, driverS3;//Driver holding fast time
 		//Race specific
-	private LinkedList<RFDriverR> driversFinPos;//Sorted by finish position
+	private ArrayList<RFDriverR> driversFinPos;//Sorted by finish position
+	private RFDriverR[] finishOrder, gridOrder;//Overall position -> driver
+	private HashMap<String, RFDriverR[]> classFinishOrder, classGridOrder;//By class
 	private RFDriverR winner;
 	private RFDriverR lapLeader;
 	private RFDriverR mostGained;
@@ -36,10 +40,11 @@ public class RFRaceResults extends Results
 	private int cautionCount;
 	private int[] cautionStartLap;
 	private int[] cautionEndLap;
+	private RaceTrace trace;//Built on first use
 	
 	/**	Mandatory empty constructor, do not use	*/
 	public RFRaceResults()	{	initializeDefault();	}
-
+	
 	/**
 	  * Full constructor accepting all basic 
 	  * information about the session.   Mod
@@ -71,38 +76,103 @@ public class RFRaceResults extends Results
 	  * position.  Fair warning, may only be
 	  * done once. 
 	  * <br><br>
-	  * An inefficient algorithm is used to 
-	  * sort.  You can change this if you 
-	  * wish to provide an insignificant 
-	  * speed increase here.  A large list
-	  * here is 64, so O(n^2) isn't a 
-	  * disaster.
+	  * Read off the finish position index, so
+	  * the sort is a single pass.  Drivers
+	  * without a valid position are left out.
 	  */
 	private void createFinishList()
 	{
 		LogFileManager.logPrint(header, "Sorting by finish");
 		if (driversFinPos.isEmpty())
 		{
-			//Setup the sort
-			int size = drivers.size();
-			RFDriverR[] tempList = new RFDriverR[size];
-			tempList = drivers.toArray(tempList);
-			
-			//Sort list
-			for (int i = 1; i <= size; i++)
+			RFDriverR[] tempList = (finishOrder != null) ? finishOrder : 
+					indexPositions(drivers, false, true);
+			for (int i = 1; i < tempList.length; i++)
+				if (tempList[i] != null)
+					driversFinPos.add(tempList[i]);
+			driversFinPos.trimToSize();
+		}
+	}
+	
+	/**
+	  * Stops drivers being added and builds the
+	  * position indexes, overall and by class, 
+	  * so drivers can be looked up by position
+	  * without searching.
+	  */
+	public void freeze()
+	{
+		if (isFrozen())
+			return;
+		
+		super.freeze();
+		drivers.trimToSize();
+		
+		//Overall indexes
+		finishOrder = indexPositions(drivers, false, true);
+		gridOrder = indexPositions(drivers, true, true);
+		
+		//Class indexes
+		HashMap<String, ArrayList<RFDriverR>> classes = new HashMap<String, ArrayList<RFDriverR>>();
+		for (int i = 0; i < drivers.size(); i++)
+		{
+			RFDriverR driver = drivers.get(i);
+			ArrayList<RFDriverR> classList = classes.get(driver.getCarClass());
+			if (classList == null)
 			{
-				boolean check = false;
-				for (int j = 0; j < tempList.length && !check; j++)
-				{
-					//Check if the position is met
-					if (tempList[j].getOverallFinish() == i)
-					{
-						driversFinPos.add(tempList[j]);
-						check = true;
-					}
-				}
+				classList = new ArrayList<RFDriverR>();
+				classes.put(driver.getCarClass(), classList);
 			}
+			classList.add(driver);
+		}
+		for (String carClass : classes.keySet())
+		{
+			classFinishOrder.put(carClass, indexPositions(classes.get(carClass), false, false));
+			classGridOrder.put(carClass, indexPositions(classes.get(carClass), true, false));
+		}
+		
+		//Cautions from the stream's yellow flags
+		CautionDetector.findCautions(this);
+		
+		//Things that only change with the drivers
+		createFinishList();
+		getBiggestGainer();
+		getBiggestLoser();
+	}
+	
+	/**
+	  * Builds an array with each driver at the index of 
+	  * its position.  The first driver listed in a 
+	  * position keeps it, and empty positions are null.
+	  * 
+	  * @param list - Drivers to index
+	  * @param start - True for starting position (False = finish)
+	  * @param overall - True for overall position (False = class)
+	  * @return Position -> driver (Index 0 is unused)
+	  */
+	private static RFDriverR[] indexPositions(List<RFDriverR> list, 
+			boolean start, boolean overall)
+	{
+		int max = 0;
+		for (int i = 0; i < list.size(); i++)
+			max = Math.max(max, positionOf(list.get(i), start, overall));
+		
+		RFDriverR[] index = new RFDriverR[max+1];
+		for (int i = 0; i < list.size(); i++)
+		{
+			int position = positionOf(list.get(i), start, overall);
+			if (position > 0 && index[position] == null)
+				index[position] = list.get(i);
 		}
+		
+		return index;
+	}
+	
+	private static int positionOf(RFDriverR driver, boolean start, boolean overall)
+	{
+		if (start)
+			return overall ? driver.getOverallStart() : driver.getClassStart();
+		return overall ? driver.getOverallFinish() : driver.getClassFinish();
 	}
 	
 	/**
@@ -114,6 +184,10 @@ public class RFRaceResults extends Results
 	  */
 	public RFDriverR getBiggestGainer()
 	{
+		//Found when frozen
+		if (isFrozen() && mostGained != null)
+			return mostGained;
+		
 		LogFileManager.logPrint(header, "Finding biggest gainer");
 		Iterator<RFDriverR> drivers = getBasicDriverIterator();
 		RFDriverR gainer = null;
@@ -152,6 +226,10 @@ public class RFRaceResults extends Results
 	  */
 	public RFDriverR getBiggestLoser()
 	{
+		//Found when frozen
+		if (isFrozen() && mostLost != null)
+			return mostLost;
+		
 		LogFileManager.logPrint(header, "Finding biggest loser");
 		Iterator<RFDriverR> drivers = getBasicDriverIterator();
 		RFDriverR loser = null;
@@ -235,6 +313,23 @@ public class RFRaceResults extends Results
 	{
 		createFinishList();
 		return new DriverIterator(driversFinPos);
+	}
+	public int getDriverCount()	{	return drivers.size();	}
+	/**
+	  * Gets a driver in the order they were listed
+	  * @param index - Index of the driver, from 0
+	  * @return The driver at the index
+	  */
+	public RFDriverR getDriver(int index)	{	return drivers.get(index);	}
+	/**
+	  * Gets a driver by finishing order
+	  * @param index - Index in finishing order, from 0 (The winner)
+	  * @return The driver at the index
+	  */
+	public RFDriverR getFinishDriver(int index)
+	{
+		createFinishList();
+		return driversFinPos.get(index);
 	}
 		// Timing accessors
 	public RFDriverR getFastestDriver()	{	return fastestOverallDriver;	}
@@ -242,12 +337,40 @@ public class RFRaceResults extends Results
 	public RFDriverR getDriverSector1()	{	return driverS1;	}
 	public RFDriverR getDriverSector2()	{	return driverS2;	}
 	public RFDriverR getDriverSector3()	{	return driverS3;	}
+	/**	Gets the session's dream lap as a RaceTime, NONE if a sector has no time	*/
+	public int getDreamRaceTime()
+	{
+		int sector1 = driverS1.getSectorRaceTime(1);
+		int sector2 = driverS2.getSectorRaceTime(2);
+		int sector3 = driverS3.getSectorRaceTime(3);
+		if (!RaceTime.isSet(sector1) || !RaceTime.isSet(sector2) || !RaceTime.isSet(sector3))
+			return RaceTime.NONE;
+		
+		return sector1+sector2+sector3;
+	}
 		//Race specific
 	public float getContactThreshold()	{	return contactThreshold;	}
 	public int getMaxLaps()	{	return maxLaps;	}
 	public int getMaxTime()	{	return maxTime;	}
 	public int getMostLapsLed()	{	return mostLapsLed;	}
 	public int getCautionCount()	{	return cautionCount;	}
+	/**
+	  * Gets who was where on every lap.  Built the first
+	  * time it is asked for once the results are frozen.
+	  * 
+	  * @return The race trace
+	  */
+	public synchronized RaceTrace getRaceTrace()
+	{
+		if (trace != null)
+			return trace;
+		
+		RaceTrace built = new RaceTrace(this);
+		if (isFrozen())
+			trace = built;
+		
+		return built;
+	}
 	/**
 	  * Gets the start and end lap for a caution period
 	  * 
@@ -284,6 +407,10 @@ public class RFRaceResults extends Results
 	{
 		RFDriverR driver = null;
 		
+		//Indexed once frozen
+		if (isFrozen())
+			return driverAt(start ? gridOrder : finishOrder, position);
+		
 		Iterator<RFDriverR> iterator = getBasicDriverIterator();
 		boolean check = iterator.hasNext();
 		while(check)
@@ -305,6 +432,31 @@ public class RFRaceResults extends Results
 		return driver;
 	}
 	
+	/**
+	  * Gets the driver placing in a certain position in 
+	  * their class.  Only works once the results are frozen.
+	  * 
+	  * @param carClass - The class to search
+	  * @param position - The position to search for
+	  * @param start - True if searching for starting position (False = finish)
+	  * @return The driver at that position, or null if none
+	  */
+	public RFDriverR getDriverByClassPosition(String carClass, int position, boolean start)
+	{
+		if (!isFrozen())
+			return null;
+		
+		return driverAt(start ? classGridOrder.get(carClass) : 
+				classFinishOrder.get(carClass), position);
+	}
+	
+	private static RFDriverR driverAt(RFDriverR[] index, int position)
+	{
+		if (index == null || position < 1 || position >= index.length)
+			return null;
+		return index[position];
+	}
+	
 	//Mutators
 	/**
 	  * Adds a driver to those listed for the session.
@@ -316,7 +468,7 @@ public class RFRaceResults extends Results
 	public boolean addDriver(RFDriverR driver)
 	{
 		//Check existing drivers
-		if(drivers.contains(driver))
+		if (isFrozen() || drivers.contains(driver))
 			return false;
 		
 		LogFileManager.logPrint(header, "Adding Driver");
@@ -365,7 +517,7 @@ public class RFRaceResults extends Results
 		}
 		
 		//Check fastest overall regardless of class
-		if (fastestOverallDriver.getFastestTime() > driver.getFastestTime())
+		if (fastestOverallDriver.getFastestRaceTime() > driver.getFastestRaceTime())
 			fastestOverallDriver = driver;
 		
 		//Find class
@@ -375,16 +527,16 @@ public class RFRaceResults extends Results
 				classPos = i;
 		
 		//Set fast lap (If fastest)
-		double lap = driver.getFastestTime();
+		int lap = driver.getFastestRaceTime();
 		boolean fastest = false;
-		if (lap != 0.0f)
-			if (lap < fastestDrivers[classPos].getFastestTime())
+		if (RaceTime.isSet(lap))
+			if (lap < fastestDrivers[classPos].getFastestRaceTime())
 			{
 				fastestDrivers[classPos] = driver;
 				fastest = true;
 			}
-		
-
+			
+			
 			//If one is null, all are null
 		if (driverS1 == null)
 		{
@@ -396,26 +548,26 @@ public class RFRaceResults extends Results
 		else
 		{
 			//Set each sector time
-			float sector = driver.getSectorTime(1);
+			int sector = driver.getSectorRaceTime(1);
 				//Sector 1
-			if (sector != 0.0f)
-				if (sector < driverS1.getSectorTime(1))
+			if (RaceTime.isSet(sector))
+				if (sector < driverS1.getSectorRaceTime(1))
 				{
 					driverS1 = driver;
 					fastest = true;
 				}
 				//Sector 2
-			sector = driver.getSectorTime(2);
-			if (sector != 0.0f)
-				if (sector < driverS2.getSectorTime(2))
+			sector = driver.getSectorRaceTime(2);
+			if (RaceTime.isSet(sector))
+				if (sector < driverS2.getSectorRaceTime(2))
 				{
 					driverS2 = driver;
 					fastest = true;
 				}		
 				//Sector 3
-			sector = driver.getSectorTime(3);
-			if (sector != 0.0f)
-				if (sector < driverS3.getSectorTime(3))
+			sector = driver.getSectorRaceTime(3);
+			if (RaceTime.isSet(sector))
+				if (sector < driverS3.getSectorRaceTime(3))
 				{
 					driverS3 = driver;
 					fastest = true;
@@ -447,7 +599,7 @@ public class RFRaceResults extends Results
 			winner = driver;
 			return true;
 		}
-			
+		
 		//Three conditions:  Most laps or equal laps + less time
 		if (winner.getLapCount() < driver.getLapCount() || 
 				(winner.getLapCount() == driver.getLapCount() && 
@@ -499,42 +651,41 @@ public class RFRaceResults extends Results
 	  */
 	public boolean setCautionPeriod(int start, int end)
 	{
-		boolean check = true;
-		
-		//Null case check
-		if (cautionStartLap == null || cautionEndLap == null)
-		{
-			cautionStartLap = new int[1];
-			cautionStartLap[0] = start;
-			cautionEndLap = new int[1];
-			cautionEndLap[0] = end;
-			
-			return true;
-		}
-		
 		//Check if the caution exists already
 		for(int i = 0; i < cautionCount; i++)
 			if (cautionStartLap[i] == start)
-				check = false;
+				return false;
 		
-		if (check)
+		//Grow arrays and add new entries
+		if (cautionStartLap == null || cautionEndLap == null)
+		{
+			cautionStartLap = new int[4];
+			cautionEndLap = new int[4];
+		}
+		else if (cautionCount == cautionStartLap.length)
 		{
-			//Copy arrays and add new entries
-				//cautionStartLap[]
-			int[] tempStart = new int[cautionStartLap.length+1];
-			for(int j = 0; j < cautionStartLap.length; j++)
-				tempStart[j] = cautionStartLap[j];
-			tempStart[cautionStartLap.length+1] = start;
-			cautionStartLap = tempStart;
-				//cautionEndLap[]
-			int[] tempEnd = new int[cautionEndLap.length+1];
-			for(int k = 0; k < cautionEndLap.length; k++)
-				tempEnd[k] = cautionEndLap[k];
-			tempEnd[cautionEndLap.length+1] = end;
-			cautionEndLap = tempEnd;
+			cautionStartLap = Arrays.copyOf(cautionStartLap, cautionCount*2);
+			cautionEndLap = Arrays.copyOf(cautionEndLap, cautionCount*2);
 		}
+		cautionStartLap[cautionCount] = start;
+		cautionEndLap[cautionCount] = end;
+		cautionCount++;
 		
-		return check;
+		return true;
+	}
+	
+	/**
+	  * Checks if a lap was run under caution
+	  * @param lap - Lap number (Of the leader)
+	  * @return True if the lap is inside a caution period
+	  */
+	public boolean isCautionLap(int lap)
+	{
+		for (int i = 0; i < cautionCount; i++)
+			if (lap >= cautionStartLap[i] && lap <= cautionEndLap[i])
+				return true;
+		
+		return false;
 	}
 	
 	//Private functions
@@ -546,8 +697,12 @@ public class RFRaceResults extends Results
 	protected void initializeDefault()
 	{
 		super.initializeDefault();
-		driversFinPos = new LinkedList<RFDriverR>();
-		drivers = new LinkedList<RFDriverR>();
+		driversFinPos = new ArrayList<RFDriverR>();
+		drivers = new ArrayList<RFDriverR>();
+		finishOrder = null;
+		gridOrder = null;
+		classFinishOrder = new HashMap<String, RFDriverR[]>();
+		classGridOrder = new HashMap<String, RFDriverR[]>();
 		fastestDrivers = new RFDriverR[1];
 		fastestDrivers[0] = null;
 		driverS1 = driverS2 = driverS3 = null;
@@ -561,6 +716,7 @@ public class RFRaceResults extends Results
 		mostLost = null;
 		mostLapsLed = 0;
 		fastestOverallDriver = null;
+		trace = null;
 	}
 	
 	//Iterators
@@ -573,9 +729,9 @@ public class RFRaceResults extends Results
 	private class DriverIterator implements Iterator<RFDriverR>
 	{
 		private int position;
-		private LinkedList<RFDriverR> list;
+		private ArrayList<RFDriverR> list;
 		
-		public DriverIterator(LinkedList<RFDriverR> drivers)
+		public DriverIterator(ArrayList<RFDriverR> drivers)
 		{
 			list = drivers;
 			position = 0;
@@ -1,13 +1,26 @@
 package pointStandings;
 
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
-import parser.Parser;
-import parser.Parser.FileType;
-import parser.RFXMLQualifyingParser;
-import parser.RFXMLRaceParser;
+import parser.ParserContext;
+import parser.RFXMLSessionParser;
+import utilities.LogContext;
 import utilities.LogFileManager;
+import utilities.LogFileManager.Level;
 
 /**
   * Holds the results of all sessions
@@ -18,10 +31,22 @@ import utilities.LogFileManager;
   */
 public class RFResultsManager 
 {
-	private LinkedList<Results> results;
-	private LinkedList<String> paths;
+	private ArrayList<Results> results;
+	private ArrayList<String> paths;
 	private String header = "ResultsManager";
 	private static RFResultsManager manager;
+	/**	Orders parsed files by event, then session, then path	*/
+	private static final Comparator<ParsedFile> importOrder = new Comparator<ParsedFile>()
+	{
+		public int compare(ParsedFile a, ParsedFile b)
+		{
+			if (a.result.getEventID() != b.result.getEventID())
+				return (a.result.getEventID() < b.result.getEventID()) ? -1 : 1;
+			if (a.getSessionOrder() != b.getSessionOrder())
+				return a.getSessionOrder()-b.getSessionOrder();
+			return a.path.compareTo(b.path);
+		}
+	};
 	
 	/**
 	  * Constructor
@@ -29,8 +54,8 @@ public class RFResultsManager
 	private RFResultsManager()
 	{
 		LogFileManager.logPrint(header, "Constructor");
-		results = new LinkedList<Results>();
-		paths = new LinkedList<String>();
+		results = new ArrayList<Results>();
+		paths = new ArrayList<String>();
 	}
 	
 	/**
@@ -38,7 +63,7 @@ public class RFResultsManager
 	  * the single manager or creates it
 	  * @return The only implementation of DriverManager allowed
 	  */
-	public static RFResultsManager getManager()
+	public static synchronized RFResultsManager getManager()
 	{
 		if (manager == null)
 			manager = new RFResultsManager();
@@ -57,68 +82,194 @@ public class RFResultsManager
 	{
 		LogFileManager.logPrint(header, "Reading Results");
 		
-		Results result = null;
-		Parser.FileType type = Parser.getFileType(path);
+		//Detect and parse in a single read of the file
+		Results result = ParserContext.getContext().getSessionParser().parseFile(path);
+		
+		//Save variables
+		if (result != null)
+			addResults(result, path);
+		
+		return result;
+	}
+	
+	/**
+	  * Reads every results file in the directory whose name 
+	  * matches the glob.  See readResults(List).
+	  * 
+	  * @param directory - Directory holding the results files
+	  * @param glob - Pattern for the file names (Such as "*.xml")
+	  * @return The number of results added
+	  */
+	public int readDirectory(String directory, String glob)
+	{
+		LogFileManager.logPrint(Level.Debug, header, "Reading directory "+directory+" ["+glob+"]");
 		
-		if (type == FileType.Practice || type == FileType.Test ||
-				type == FileType.Warmup)
+		//Find the files
+		List<String> files = new ArrayList<String>();
+		DirectoryStream<Path> stream = null;
+		try
 		{
-			System.out.println(type+": Not implemented yet");
+			stream = Files.newDirectoryStream(Paths.get(directory), glob);
+			for (Path path : stream)
+				if (Files.isRegularFile(path))
+					files.add(path.toString());
 		}
-		
-		if (type == FileType.Qualifying)
+		catch (IOException e)
+		{
+			e.printStackTrace();
+			return 0;
+		}
+		finally
 		{
-			result = new RFXMLQualifyingParser(path).parseFile();
+			try
+			{
+				if (stream != null)
+					stream.close();
+			}
+			catch (IOException e)
+			{
+				LogFileManager.logPrint(Level.Warning, header, "Could not close directory: "+e.getMessage());
+			}
 		}
 		
-		if (type == FileType.Race)
+		return readResults(files);
+	}
+	
+	/**
+	  * Reads a batch of results files, parsing them at the
+	  * same time on a pool bounded by the number of cores.
+	  * Once all are parsed, results are added and their 
+	  * reports printed in event order (DateTime event ID,
+	  * qualifying before race, then path), no matter which
+	  * file finished parsing first.
+	  * 
+	  * @param files - Paths of the files to read
+	  * @return The number of results added
+	  */
+	public int readResults(List<String> files)
+	{
+		LogFileManager.logPrint(Level.Debug, header, "Reading "+files.size()+" results files");
+		if (files.isEmpty())
+			return 0;
+		
+		//Parse everything at once
+		int threads = Math.min(files.size(), Runtime.getRuntime().availableProcessors());
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		List<Future<ParsedFile>> parsing = new ArrayList<Future<ParsedFile>>(files.size());
+		final LogContext log = LogFileManager.getBoundContext();//Workers log where the caller does
+		for (final String path : files)
 		{
-			result = new RFXMLRaceParser(path).parseFile();
+			parsing.add(pool.submit(new Callable<ParsedFile>()
+			{
+				public ParsedFile call()
+				{
+					LogContext previous = LogFileManager.bind(log);
+					try
+					{
+						RFXMLSessionParser parser = ParserContext.getContext().getSessionParser();
+						return new ParsedFile(path, parser.readFile(path));
+					}
+					finally
+					{
+						LogFileManager.bind(previous);
+					}
+				}
+			}));
 		}
+		pool.shutdown();
 		
-		if (type == FileType.None)
+		//Gather the results
+		List<ParsedFile> parsed = new ArrayList<ParsedFile>(files.size());
+		try
 		{
-			System.out.println("Not an XML file");
+			for (Future<ParsedFile> future : parsing)
+			{
+				try
+				{
+					ParsedFile file = future.get();
+					if (file.result != null)
+						parsed.add(file);
+				}
+				catch (ExecutionException e)
+				{
+					LogFileManager.logPrint(Level.Warning, header, "Could not read file: "+e.getCause());
+				}
+			}
+		}
+		catch (InterruptedException e)
+		{
+			pool.shutdownNow();
+			Thread.currentThread().interrupt();
+			return 0;
 		}
 		
-		//Save variables
-		if (result != null)
+		//Merge in a set order
+		Collections.sort(parsed, importOrder);
+		RFXMLSessionParser printer = ParserContext.getContext().getSessionParser();
+		for (ParsedFile file : parsed)
 		{
-			results.add(result);
-			paths.add(path);
+			printer.printResults(file.result);
+			addResults(file.result, file.path);
 		}
 		
-		return result;
+		return parsed.size();
+	}
+	
+	/**
+	  * Saves the results and the path they came from
+	  * @param result - Results to save
+	  * @param path - Path of the results file
+	  */
+	private synchronized void addResults(Results result, String path)
+	{
+		results.add(result);
+		paths.add(path);
 	}
 	
 	/**
 	  * Gets the number of results in the manager
 	  * @return The number of results
 	  */
-	public int getResultsSize()	{	return results.size();	}
+	public synchronized int getResultsSize()	{	return results.size();	}
+	
+	/**
+	  * Gets results in the order they were read
+	  * @param index - Index of the results, from 0
+	  * @return The results at the index
+	  */
+	public synchronized Results getResults(int index)	{	return results.get(index);	}
+	
+	/**
+	  * Gets the path of a results file in the order read
+	  * @param index - Index of the path, from 0
+	  * @return The path at the index
+	  */
+	public synchronized String getPath(int index)	{	return paths.get(index);	}
 	
 	/**
 	  * Gets an iterator for iterating
-	  * through the results
+	  * through the results.  Iterates a copy
+	  * taken now, so results added later are not seen.
 	  * 
 	  * @return The iterator in queastion
 	  */
-	public Iterator<Results> getResultsIterator()
+	public synchronized Iterator<Results> getResultsIterator()
 	{
 		LogFileManager.logPrint(header, "Path iterator results");
-		return new ResultsIterator(results);
+		return new ResultsIterator(new ArrayList<Results>(results));
 	}
 	
 	/**
 	  * Gets an iterator for iterating
-	  * through the list of file paths
+	  * through the list of file paths.  Iterates
+	  * a copy taken now, like getResultsIterator.
 	  */
-	public Iterator<String> getPathIterator()
+	public synchronized Iterator<String> getPathIterator()
 	{
 		LogFileManager.logPrint(header, "Path iterator creation");
-		return new PathIterator(paths);
+		return new PathIterator(new ArrayList<String>(paths));
 	}
-	
+		
 		//Iterator
 	/**
 	  * Gets a list that iterates through
@@ -129,9 +280,9 @@ public class RFResultsManager
 	private class ResultsIterator implements Iterator<Results>
 	{
 		private int position;
-		private LinkedList<Results> list;
+		private ArrayList<Results> list;
 		
-		public ResultsIterator(LinkedList<Results> results)
+		public ResultsIterator(ArrayList<Results> results)
 		{
 			list = results;
 			position = 0;
@@ -164,9 +315,9 @@ public class RFResultsManager
 	private class PathIterator implements Iterator<String>
 	{
 		private int position;
-		private LinkedList<String> list;
+		private ArrayList<String> list;
 		
-		public PathIterator(LinkedList<String> paths)
+		public PathIterator(ArrayList<String> paths)
 		{
 			list = paths;
 			position = 0;
@@ -189,4 +340,31 @@ public class RFResultsManager
 		/**	Empty method as removal is not an option	*/
 		public void remove() {	}
 	}
+	
+	/**
+	  * A results file once it has been parsed
+	  * 
+	  * @author Richard Matthews
+	  */
+	private static class ParsedFile
+	{
+		private final String path;
+		private final Results result;
+		
+		public ParsedFile(String path, Results result)
+		{
+			this.path = path;
+			this.result = result;
+		}
+		
+		/**	Qualifying sorts ahead of the race at the same event	*/
+		public int getSessionOrder()
+		{
+			if (result instanceof RFQualifyingResults)
+				return 0;
+			if (result instanceof RFRaceResults)
+				return 1;
+			return 2;
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,152 @@
+package pointStandings;
+
+/**
+  * Lap and sector times are kept as whole ten
+  * thousandths of a second in an int, the same
+  * precision results files are written in.  That
+  * makes comparing times exact, and no time is
+  * always NONE instead of a made up large float.
+  * Check a time with isSet before using it, and
+  * print it with format so NONE shows as "--.----".
+  * <br><br>
+  * Times in an int run out after 59 hours.
+  * 
+  * @author Richard Matthews
+  * @version 1 (10-17-2026)
+  */
+public final class RaceTime
+{
+	/**	No time was set	*/
+	public static final int NONE = Integer.MAX_VALUE;
+	/**	Time units in a second	*/
+	public static final int PER_SECOND = 10000;
+	/**	How rFactor writes no time	*/
+	public static final String NONE_TEXT = "--.----";
+	private static final int decimals = 4;//Digits after the point PER_SECOND holds
+	
+	private RaceTime()	{	}
+	
+	/**
+	  * Checks if a time was set
+	  * @param time - Time to check
+	  * @return True if not NONE
+	  */
+	public static boolean isSet(int time)	{	return time != NONE;	}
+	
+	/**
+	  * Converts seconds to a time
+	  * @param seconds - Seconds to convert
+	  * @return The time, or NONE if not a number or negative
+	  */
+	public static int fromSeconds(double seconds)
+	{
+		if (Double.isNaN(seconds) || seconds < 0.0 || seconds*PER_SECOND >= NONE)
+			return NONE;
+		
+		return (int) Math.round(seconds*PER_SECOND);
+	}
+	
+	/**
+	  * Converts a time to seconds
+	  * @param time - Time to convert (Check isSet first)
+	  * @return Seconds in the time, or NaN for NONE
+	  */
+	public static float toSeconds(int time)
+	{
+		if (time == NONE)
+			return Float.NaN;
+		
+		return time/(float) PER_SECOND;
+	}
+	
+	/**
+	  * Writes a time in seconds for reports, straight from
+	  * the int so every digit is kept ("18.0600")
+	  * @param time - Time to write
+	  * @return The seconds to four places, or "--.----" for NONE
+	  */
+	public static String format(int time)
+	{
+		if (time == NONE)
+			return NONE_TEXT;
+		
+		StringBuilder text = new StringBuilder(12);
+		if (time < 0)
+		{
+			text.append('-');
+			time = -time;
+		}
+		int fraction = time%PER_SECOND;
+		text.append(time/PER_SECOND).append('.');
+		for (int digit = PER_SECOND/10; digit > 1 && fraction < digit; digit /= 10)
+			text.append('0');
+		
+		return text.append(fraction).toString();
+	}
+	
+	/**
+	  * Reads a time written in seconds, such as "18.0634",
+	  * straight from the text so no float rounding is done.
+	  * Signs and whitespace are skipped like NumberReader does,
+	  * and the digits are rounded by fromDigits.
+	  * @param text - Time in seconds
+	  * @return The time, or NONE if the text isn't a time (Like "--.----")
+	  */
+	public static int parse(CharSequence text)
+	{
+		long digits = 0;
+		int places = -1;//Digits after the point, -1 before the point
+		boolean digitFound = false;
+		for (int i = 0; i < text.length(); i++)
+		{
+			char c = text.charAt(i);
+			if (c >= '0' && c <= '9')
+			{
+				digitFound = true;
+				if (places > decimals)
+					continue;//Past the digit rounded on
+				digits = digits*10+(c-'0');
+				if (places >= 0)
+					places++;
+				else if (digits >= NONE)
+					return NONE;
+			}
+			else if (c == '.' && places == -1)
+				places = 0;
+			else if (c != '+' && c != ' ' && c != '\t' && c != '\n' && c != '\r')
+				return NONE;
+		}
+		if (!digitFound)
+			return NONE;
+		
+		return fromDigits(digits, Math.max(places, 0));
+	}
+	
+	/**
+	  * Makes a time out of the digits of a number in seconds,
+	  * rounding on the digit after the ten thousandths (Any
+	  * digits past that are cut off).  Every time read from
+	  * text goes through here, so they all round the same.
+	  * @param digits - Every digit read, as a whole number (18.06345 is 1806345)
+	  * @param places - How many of the digits are after the point (5 for 18.06345)
+	  * @return The time, or NONE if negative or too large
+	  */
+	public static int fromDigits(long digits, int places)
+	{
+		if (digits < 0 || places < 0)
+			return NONE;
+		
+		for (; places < decimals; places++)
+		{
+			if (digits >= NONE)
+				return NONE;
+			digits *= 10;
+		}
+		for (; places > decimals+1; places--)
+			digits /= 10;
+		if (places == decimals+1)
+			digits = (digits+5)/10;
+		
+		return (digits >= NONE) ? NONE : (int) digits;
+	}
+}
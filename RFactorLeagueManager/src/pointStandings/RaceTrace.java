@@ -0,0 +1,283 @@
+package pointStandings;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+/**
+  * Who was where on every lap of a race.  Built in one
+  * pass over every driver's laps into two flat tables,
+  * [lap][position] -&gt; driver and its inverse
+  * [lap][driver] -&gt; position (With the time the lap
+  * was finished), so each question is an array lookup.
+  * The gap to the leader and to the car ahead on every
+  * lap are worked out in one more sweep, a lap at a time
+  * in position order, and kept the same way.
+  * <br><br>
+  * Lap 0 is the grid.  Positions are each lap's p value,
+  * the position the lap was finished in.  A lap is finished
+  * when the next lap starts (et), or for the last lap, its
+  * start plus its time.  Laps or positions outside
+  * the race (Bad data) are skipped, and the first driver
+  * read in a position keeps it.
+  * <br><br>
+  * Built once and never changed, so safe to share.
+  * 
+  * @author Richard Matthews
+  * @version 1 (10-17-2026)
+  * @version 2 (10-17-2026)	[Gaps and intervals for every lap]
+  */
+public final class RaceTrace
+{
+	private final RFDriverR[] drivers;
+	private final IdentityHashMap<RFDriverR, Integer> index;//Driver -> column
+	private final int lapCount, gridSize;
+	private final int[] order;//[lap*(gridSize+1)+position] -> column, -1 if empty
+	private final int[] place;//[lap*drivers+column] -> position, 0 if not run
+	private final int[] time;//[lap*drivers+column] -> RaceTime the lap was finished
+	private final int[] gap, interval;//[lap*drivers+column] -> RaceTime behind the leader/car ahead
+	
+	/**
+	  * Builds the trace of a race
+	  * @param results - The race (Frozen)
+	  */
+	public RaceTrace(RFRaceResults results)
+	{
+		int count = results.getDriverCount();
+		drivers = new RFDriverR[count];
+		index = new IdentityHashMap<RFDriverR, Integer>(count*2);
+		int laps = 0;
+		for (int i = 0; i < count; i++)
+		{
+			drivers[i] = results.getDriver(i);
+			index.put(drivers[i], i);
+			laps = Math.max(laps, drivers[i].getLapCount());
+		}
+		lapCount = laps;
+		gridSize = count;
+		
+		order = new int[(lapCount+1)*(gridSize+1)];
+		place = new int[(lapCount+1)*count];
+		time = new int[(lapCount+1)*count];
+		Arrays.fill(order, -1);
+		Arrays.fill(time, RaceTime.NONE);
+		gap = new int[(lapCount+1)*count];
+		interval = new int[(lapCount+1)*count];
+		Arrays.fill(gap, RaceTime.NONE);
+		Arrays.fill(interval, RaceTime.NONE);
+		
+		LapTable table = results.getLapTable();
+		for (int i = 0; i < count; i++)
+		{
+			RFDriverR driver = drivers[i];
+			set(0, driver.getOverallStart(), i, RaceTime.NONE);
+			int first = driver.getFirstLapRow(), last = first+driver.getLapCount()-1;
+			for (int row = first; row <= last; row++)
+				set(table.getLapNumber(row), table.getPosition(row), i, finishTime(table, row, last));
+		}
+		
+		//Gaps and intervals, one lap at a time in position order
+		for (int lap = 0; lap <= lapCount; lap++)
+		{
+			int leaderTime = RaceTime.NONE, aheadTime = RaceTime.NONE;
+			for (int position = 1; position <= gridSize; position++)
+			{
+				int column = order[lap*(gridSize+1)+position];
+				if (column == -1)
+				{
+					aheadTime = RaceTime.NONE;
+					continue;
+				}
+				
+				int cell = lap*count+column;
+				int finished = time[cell];
+				if (position == 1)
+					leaderTime = finished;
+				if (RaceTime.isSet(finished))
+				{
+					if (RaceTime.isSet(leaderTime))
+						gap[cell] = finished-leaderTime;
+					if (RaceTime.isSet(aheadTime))
+						interval[cell] = finished-aheadTime;
+				}
+				aheadTime = finished;
+			}
+		}
+	}
+	
+	/**
+	  * Places a driver, skipping anything outside the tables
+	  */
+	private void set(int lap, int position, int column, int finished)
+	{
+		if (lap < 0 || lap > lapCount || position < 1 || position > gridSize)
+			return;
+		
+		int cell = lap*drivers.length+column;
+		if (place[cell] != 0)
+			return;
+		int slot = lap*(gridSize+1)+position;
+		if (order[slot] == -1)
+			order[slot] = column;
+		place[cell] = position;
+		time[cell] = finished;
+	}
+	
+	/**
+	  * Gets the time a lap was finished
+	  * @param last - Row of the driver's last lap
+	  * @return The time, or RaceTime.NONE if not known
+	  */
+	private static int finishTime(LapTable table, int row, int last)
+	{
+		if (row < last)
+			return table.getStartTime(row+1);
+		
+		int start = table.getStartTime(row), lap = table.getTotalTime(row);
+		if (!RaceTime.isSet(start) || !RaceTime.isSet(lap))
+			return RaceTime.NONE;
+		
+		return start+lap;
+	}
+	
+	/**
+	  * Gets the driver in a position on a lap
+	  * @param lap - Lap number (0 for the grid)
+	  * @param position - Position (1 for the leader)
+	  * @return The driver, or null if nobody held it
+	  */
+	public RFDriverR getDriver(int lap, int position)
+	{
+		if (lap < 0 || lap > lapCount || position < 1 || position > gridSize)
+			return null;
+		
+		int column = order[lap*(gridSize+1)+position];
+		return (column == -1) ? null : drivers[column];
+	}
+	
+	/**
+	  * Gets the leader of a lap
+	  * @param lap - Lap number (0 for the pole sitter)
+	  * @return The driver, or null if not known
+	  */
+	public RFDriverR getLeader(int lap)	{	return getDriver(lap, 1);	}
+	
+	/**
+	  * Gets a driver's position on a lap
+	  * @param driver - The driver
+	  * @param lap - Lap number (0 for the grid)
+	  * @return The position, or 0 if the driver didn't run the lap
+	  */
+	public int getPosition(RFDriverR driver, int lap)
+	{
+		int cell = cell(driver, lap);
+		return (cell == -1) ? 0 : place[cell];
+	}
+	
+	/**
+	  * Gets how far behind the leader a driver finished a lap
+	  * @param driver - The driver
+	  * @param lap - Lap number
+	  * @return The gap as a RaceTime, or RaceTime.NONE if either time is missing
+	  */
+	public int getGapToLeader(RFDriverR driver, int lap)
+	{
+		int cell = cell(driver, lap);
+		return (cell == -1) ? RaceTime.NONE : gap[cell];
+	}
+	
+	/**
+	  * Gets how far behind the car ahead a driver finished a lap
+	  * @param driver - The driver
+	  * @param lap - Lap number
+	  * @return The interval as a RaceTime, or RaceTime.NONE for the
+	  * 		leader or if either time is missing
+	  */
+	public int getInterval(RFDriverR driver, int lap)
+	{
+		int cell = cell(driver, lap);
+		return (cell == -1) ? RaceTime.NONE : interval[cell];
+	}
+	
+	/**
+	  * Gets the positions a driver gained on a lap
+	  * @param driver - The driver
+	  * @param lap - Lap number (1 or later)
+	  * @return Positions gained (Negative if lost), 0 if either lap wasn't run
+	  */
+	public int getPositionChange(RFDriverR driver, int lap)
+	{
+		int before = getPosition(driver, lap-1), after = getPosition(driver, lap);
+		if (before == 0 || after == 0)
+			return 0;
+		
+		return before-after;
+	}
+	
+	/**
+	  * Gets a driver's position on every lap, for charts
+	  * @param driver - The driver
+	  * @return Position by lap, [0] is the grid (0 for laps not run)
+	  */
+	public int[] getPositionChart(RFDriverR driver)
+	{
+		int[] chart = new int[lapCount+1];
+		Integer column = index.get(driver);
+		if (column == null)
+			return chart;
+		
+		for (int lap = 0; lap <= lapCount; lap++)
+			chart[lap] = place[lap*drivers.length+column];
+		
+		return chart;
+	}
+	
+	/**
+	  * Gets a driver's gap to the leader on every lap, for charts
+	  * @param driver - The driver
+	  * @return Gap by lap as RaceTimes (RaceTime.NONE where not known)
+	  */
+	public int[] getGapChart(RFDriverR driver)	{	return chart(gap, driver);	}
+	
+	/**
+	  * Gets a driver's interval to the car ahead on every lap
+	  * @param driver - The driver
+	  * @return Interval by lap as RaceTimes (RaceTime.NONE where not known)
+	  */
+	public int[] getIntervalChart(RFDriverR driver)	{	return chart(interval, driver);	}
+	
+	/**
+	  * Copies a driver's column of a table
+	  */
+	private int[] chart(int[] table, RFDriverR driver)
+	{
+		int[] chart = new int[lapCount+1];
+		Integer column = index.get(driver);
+		if (column == null)
+		{
+			Arrays.fill(chart, RaceTime.NONE);
+			return chart;
+		}
+		
+		for (int lap = 0; lap <= lapCount; lap++)
+			chart[lap] = table[lap*drivers.length+column];
+		
+		return chart;
+	}
+	
+	/**
+	  * Finds a driver's cell for a lap
+	  * @return The cell, or -1 if not in the trace
+	  */
+	private int cell(RFDriverR driver, int lap)
+	{
+		Integer column = index.get(driver);
+		if (column == null || lap < 0 || lap > lapCount)
+			return -1;
+		
+		return lap*drivers.length+column;
+	}
+		
+		//Accessors
+	public int getLapCount()	{	return lapCount;	}
+	public int getGridSize()	{	return gridSize;	}
+}
@@ -11,6 +11,7 @@ import utilities.LogFileManager;
   * 
   * @author Richard Matthews
   * @version 1 (5-21-2013)
+  * @version 2 (10-17-2026)	[Stream events and incident index]
   */
 public abstract class Results
 {
@@ -19,6 +20,10 @@ public abstract class Results
 	private float trackLength;
 	private long eventID;
 	private boolean idLock;
+	private boolean frozen;//No more drivers once parsing is done
+	private LapTable laps;//Every lap run in the session
+	private EventLog events;//Crossings, contact, and flags from the stream
+	private IncidentIndex incidents;//Built on first use
 	private String header = "Results";
 	
 	/**
@@ -33,8 +38,31 @@ public abstract class Results
 		classes = null;
 		eventID = -1;
 		idLock = false;
+		frozen = false;
+		laps = new LapTable();
+		events = new EventLog();
+		incidents = null;
 	}
 	
+	/**
+	  * Called once every driver has been added.  After 
+	  * this the drivers can no longer be changed, and 
+	  * child classes can build anything they keep 
+	  * sorted from the finished list.
+	  */
+	public void freeze()
+	{
+		frozen = true;
+		laps.trimToSize();
+		events.trimToSize();
+	}
+	
+	/**
+	  * Checks if the results can still take drivers
+	  * @return True if frozen
+	  */
+	public boolean isFrozen()	{	return frozen;	}
+		
 		//Accessors
 	/**	Event ID is shared among sessions at an event (Practice, Race, Quali...	*/
 	public long getEventID()	{	return eventID;	}
@@ -42,7 +70,34 @@ public abstract class Results
 	public String getEventName()	{	return eventName;	}
 	public String getModName()	{	return modName;	}
 	public float getTrackLength()	{	return trackLength;	}
+	/**	Laps run by every driver, each driver knows its rows	*/
+	public LapTable getLapTable()	{	return laps;	}
+	/**	Timed events read from the session's stream	*/
+	public EventLog getEventLog()	{	return events;	}
+	
+	/**
+	  * Gets the session's incidents at or above the contact threshold.
+	  * Built the first time it is asked for once the results are frozen,
+	  * and again if the threshold changes.
+	  * 
+	  * @return The incident index
+	  */
+	public synchronized IncidentIndex getIncidentIndex()
+	{
+		float threshold = getContactThreshold();
+		if (incidents == null || !frozen || 
+				incidents.getThreshold() != EventLog.toImpact(Math.max(threshold, 0.0f)))
+			incidents = new IncidentIndex(events, threshold);
+		
+		return incidents;
+	}
 	
+	/**
+	  * Gets the lowest impact counted as an incident
+	  * @return Contact threshold (Same scale as the file)
+	  */
+	public abstract float getContactThreshold();
+		
 		//Mutators
 	public void setEventID(long id)
 	{
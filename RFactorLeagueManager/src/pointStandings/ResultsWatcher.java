@@ -0,0 +1,365 @@
+package pointStandings;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import utilities.LogFileManager;
+import utilities.LogFileManager.Level;
+
+/**
+  * Watches a results folder (Such as the one a
+  * dedicated server writes to) and imports new
+  * results files as they show up.  Only the new
+  * session is pushed through the standings, so
+  * the season is never reprocessed.
+  * <br><br>
+  * A file is only read once it has stopped
+  * changing for the settle time, as the server
+  * writes results out over a few moments.
+  * A file that can't be read is tried again a
+  * few times, then left alone until it changes.
+  * 
+  * @author Richard Matthews
+  * @version 1 (10-17-2026)
+  */
+public final class ResultsWatcher implements Runnable
+{
+	private static final String header = "ResultsWatcher";
+	private static final int maxAttempts = 3;//Reads of a file before giving up on it
+	private final Path directory;
+	private final PathMatcher matcher;
+	private final long settleTime;//Milliseconds a file must sit unchanged
+	private final RFResultsManager manager;
+	private final StandingsGenerator standings;
+	private final HashSet<Path> imported;//Files already in the manager
+	private final HashMap<Path, Long> pending;//File -> time last seen changing
+	private final HashMap<Path, Long> pendingSize;//File -> size last seen
+	private final HashMap<Path, Integer> attempts;//File -> failed reads so far
+	private final HashMap<Path, Long> failed;//File -> modified time when given up on
+	private WatchService watcher;
+	private volatile boolean running;
+	
+	/**
+	  * Constructor.  Files already imported into the
+	  * manager are not imported again.
+	  * 
+	  * @param directory - Folder to watch
+	  * @param glob - Pattern for results file names (Such as "*S[QR].xml")
+	  * @param settleTime - Milliseconds a file must go unchanged before reading
+	  * @param standings - Standings to update as results come in
+	  */
+	public ResultsWatcher(String directory, String glob, long settleTime,
+			StandingsGenerator standings)
+	{
+		LogFileManager.logPrint(header, "Constructor");
+		
+		this.directory = Paths.get(directory).toAbsolutePath().normalize();
+		this.matcher = FileSystems.getDefault().getPathMatcher("glob:"+glob);
+		this.settleTime = settleTime;
+		this.standings = standings;
+		manager = RFResultsManager.getManager();
+		imported = new HashSet<Path>();
+		pending = new HashMap<Path, Long>();
+		pendingSize = new HashMap<Path, Long>();
+		attempts = new HashMap<Path, Integer>();
+		failed = new HashMap<Path, Long>();
+		running = false;
+		
+		//Skip anything already read
+		Iterator<String> paths = manager.getPathIterator();
+		while (paths.hasNext())
+			imported.add(Paths.get(paths.next()).toAbsolutePath().normalize());
+	}
+	
+	/**
+	  * Watches the folder until stop() is called
+	  */
+	public void run()
+	{
+		try
+		{
+			watcher = FileSystems.getDefault().newWatchService();
+			directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+					StandardWatchEventKinds.ENTRY_MODIFY);
+		}
+		catch (IOException e)
+		{
+			e.printStackTrace();
+			return;
+		}
+		
+		LogFileManager.logPrint(Level.Info, header, "Watching "+directory);
+		running = true;
+		
+		//Catch anything written before the watch started
+		scanDirectory();
+		
+		try
+		{
+			while (running)
+			{
+				WatchKey key = watcher.poll(settleTime, TimeUnit.MILLISECONDS);
+				if (key != null)
+				{
+					for (WatchEvent<?> event : key.pollEvents())
+					{
+						//Events were lost, so look at everything
+						if (event.kind() == StandardWatchEventKinds.OVERFLOW)
+						{
+							scanDirectory();
+							continue;
+						}
+						
+						Path path = directory.resolve((Path) event.context());
+						noticeFile(path);
+					}
+					
+					//Folder is gone
+					if (!key.reset())
+						running = false;
+				}
+				
+				importSettledFiles();
+			}
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		catch (ClosedWatchServiceException e)
+		{
+			//Stopped from another thread
+		}
+		finally
+		{
+			running = false;
+			closeWatcher();
+		}
+	}
+	
+	/**
+	  * Stops watching the folder.  Can be called from any thread.
+	  */
+	public void stop()
+	{
+		running = false;
+		closeWatcher();
+	}
+	
+	public boolean isRunning()	{	return running;	}
+	
+	/**
+	  * Marks a file as changed if it is a results
+	  * file that has not been imported.  A file given
+	  * up on is only marked again once it has changed.
+	  * @param path - The file that changed
+	  */
+	private void noticeFile(Path path)
+	{
+		if (!matcher.matches(path.getFileName()) || imported.contains(path))
+			return;
+		Long gaveUp = failed.get(path);
+		if (gaveUp != null)
+		{
+			if (gaveUp == lastModified(path))
+				return;
+			failed.remove(path);
+			attempts.remove(path);
+		}
+		
+		pending.put(path, System.currentTimeMillis());
+		pendingSize.put(path, -1L);
+	}
+	
+	/**
+	  * Marks every results file in the folder that
+	  * has not been imported
+	  */
+	private void scanDirectory()
+	{
+		DirectoryStream<Path> stream = null;
+		try
+		{
+			stream = Files.newDirectoryStream(directory);
+			for (Path path : stream)
+				if (Files.isRegularFile(path))
+					noticeFile(path.toAbsolutePath().normalize());
+		}
+		catch (IOException e)
+		{
+			LogFileManager.logPrint(Level.Warning, header, "Could not scan folder: "+e.getMessage());
+		}
+		finally
+		{
+			try
+			{
+				if (stream != null)
+					stream.close();
+			}
+			catch (IOException e)
+			{
+				LogFileManager.logPrint(Level.Warning, header, "Could not close folder: "+e.getMessage());
+			}
+		}
+	}
+	
+	/**
+	  * Imports every pending file that has gone
+	  * unchanged for the settle time
+	  */
+	private void importSettledFiles()
+	{
+		long now = System.currentTimeMillis();
+		ArrayList<Path> retry = new ArrayList<Path>();
+		Iterator<Map.Entry<Path, Long>> iterator = pending.entrySet().iterator();
+		while (iterator.hasNext())
+		{
+			Map.Entry<Path, Long> entry = iterator.next();
+			Path path = entry.getKey();
+			if (now-entry.getValue() < settleTime)
+				continue;
+			
+			//Still being written?
+			long size;
+			try
+			{
+				size = Files.size(path);
+			}
+			catch (IOException e)
+			{
+				//Deleted or moved before it could be read
+				iterator.remove();
+				pendingSize.remove(path);
+				continue;
+			}
+			if (size != pendingSize.get(path))
+			{
+				entry.setValue(now);
+				pendingSize.put(path, size);
+				continue;
+			}
+			
+			iterator.remove();
+			pendingSize.remove(path);
+			if (importFile(path))
+				attempts.remove(path);
+			else
+				retry.add(path);
+		}
+		
+		//Files that couldn't be read
+		for (Path path : retry)
+		{
+			Integer tries = attempts.get(path);
+			tries = (tries == null) ? 1 : tries+1;
+			if (tries < maxAttempts)
+			{
+				LogFileManager.logPrint(Level.Warning, header, "Could not import "+path+
+						", trying again ("+tries+"/"+maxAttempts+")");
+				attempts.put(path, tries);
+				pending.put(path, now);
+				pendingSize.put(path, -1L);
+			}
+			else
+			{
+				LogFileManager.logPrint(Level.Warning, header, "Could not import "+path+
+						", skipped until it changes");
+				attempts.remove(path);
+				failed.put(path, lastModified(path));
+			}
+		}
+	}
+	
+	/**
+	  * Gets when a file was last changed
+	  * @return Milliseconds, or -1 if it can't be read
+	  */
+	private static long lastModified(Path path)
+	{
+		try
+		{
+			return Files.getLastModifiedTime(path).toMillis();
+		}
+		catch (IOException e)
+		{
+			return -1;
+		}
+	}
+	
+	/**
+	  * Reads the file and pushes its drivers through the standings.
+	  * Errors are logged rather than thrown, so one bad file
+	  * can't stop the watch.
+	  * 
+	  * @param path - The results file
+	  * @return False if the file could not be read
+	  */
+	private boolean importFile(Path path)
+	{
+		LogFileManager.logPrint(Level.Info, header, "Importing "+path);
+		
+		Results result;
+		try
+		{
+			result = manager.readResults(path.toString());
+		}
+		catch (RuntimeException e)
+		{
+			LogFileManager.logPrint(Level.Warning, header, "Could not read "+
+					path.getFileName()+": "+e);
+			return false;
+		}
+		if (result == null)
+			return false;//Not a results file, or not finished
+		
+		//In the manager now, so never read again even if the standings fail
+		imported.add(path);
+		try
+		{
+			List<StandingsDriver> affected = standings.update();
+			LogFileManager.logPrint(Level.Debug, header, () -> affected.size()+" drivers affected by "+
+					path.getFileName());
+			standings.writeOverallStandings(LogFileManager.getReplayOutput());
+		}
+		catch (RuntimeException e)
+		{
+			LogFileManager.logPrint(Level.Warning, header, "Could not update standings from "+
+					path.getFileName()+": "+e);
+		}
+		
+		return true;
+	}
+	
+	/**
+	  * Closes the watch service, waking up the watching thread
+	  */
+	private void closeWatcher()
+	{
+		try
+		{
+			if (watcher != null)
+				watcher.close();
+		}
+		catch (IOException e)
+		{
+			LogFileManager.logPrint(Level.Warning, header, "Could not close watcher: "+e.getMessage());
+		}
+	}
+}
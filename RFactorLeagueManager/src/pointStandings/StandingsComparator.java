@@ -0,0 +1,82 @@
+package pointStandings;
+
+import java.util.Comparator;
+
+/**
+  * Orders drivers for the standings, most points first.
+  * Drivers tied on points are separated by the tie
+  * breakers given, in order.  Everything compared is
+  * kept up to date on the driver, so comparing does
+  * not look through a driver's events.
+  * 
+  * @author Richard Matthews
+  * @version 1 (10-17-2026)
+  */
+public final class StandingsComparator implements Comparator<StandingsDriver>
+{
+	/**
+	  * Ways to separate drivers tied on points
+	  */
+	public static enum TieBreaker
+	{
+		Wins,//More wins
+		Countback,//More 2nds, then more 3rds, and so on
+		MostRecent//Better finish in the driver's latest race
+	}
+	
+	private final boolean overall;
+	private final TieBreaker[] tieBreakers;
+	
+	/**
+	  * Constructor
+	  * @param overall - True to use overall points and finishes, false for class
+	  * @param tieBreakers - Tie breakers to use, in order
+	  */
+	public StandingsComparator(boolean overall, TieBreaker[] tieBreakers)
+	{
+		this.overall = overall;
+		this.tieBreakers = tieBreakers.clone();
+	}
+	
+	/**
+	  * Compares two drivers
+	  * @return Negative if a is ahead of b, positive if b is ahead, 0 if tied
+	  */
+	public int compare(StandingsDriver a, StandingsDriver b)
+	{
+		int check = overall ?
+				Integer.compare(b.getOverallPointTotal(), a.getOverallPointTotal()) :
+				Integer.compare(b.getClassPointTotal(), a.getClassPointTotal());
+		
+		for (int i = 0; check == 0 && i < tieBreakers.length; i++)
+		{
+			switch (tieBreakers[i])
+			{
+				case Wins:
+					check = Integer.compare(b.getFinishCount(1, overall),
+							a.getFinishCount(1, overall));
+					break;
+				case Countback:
+					int last = Math.max(a.getWorstFinish(overall), b.getWorstFinish(overall));
+					for (int position = 2; check == 0 && position <= last; position++)
+						check = Integer.compare(b.getFinishCount(position, overall),
+								a.getFinishCount(position, overall));
+					break;
+				case MostRecent:
+					check = Integer.compare(finishRank(a.getLastFinish(overall)),
+							finishRank(b.getLastFinish(overall)));
+					break;
+			}
+		}
+		
+		return check;
+	}
+	
+	/**
+	  * Not finishing (0) ranks behind any position
+	  */
+	private static int finishRank(int position)
+	{
+		return (position > 0) ? position : Integer.MAX_VALUE;
+	}
+}
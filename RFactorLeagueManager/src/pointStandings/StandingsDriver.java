@@ -1,9 +1,11 @@
 package pointStandings;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedList;
 
 import utilities.LogFileManager;
+import utilities.LogFileManager.Level;
 
 /**
   * A driver for storing in the standings index.
@@ -20,7 +22,11 @@ public final class StandingsDriver extends Driver
 	private int driverID;
 	private int positionOverall;
 	private int positionClass;
-	private LinkedList<DriverEvent> events;
+	private long[] eventIDs;//Sorted, events[i] has ID eventIDs[i]
+	private DriverEvent[] events;
+	private int eventCount;
+	private int overallPoints, classPoints;//Running totals of the events' points
+	private int[] finishesOverall, finishesClass;//Position -> times finished there
 	private static final String header = "StandingsDriver";
 	
 	public StandingsDriver()
@@ -28,91 +34,202 @@ public final class StandingsDriver extends Driver
 		driverID = 0;
 		positionOverall = 0;
 		positionClass = 0;
-		events = new LinkedList<DriverEvent>();
+		eventIDs = new long[4];
+		events = new DriverEvent[4];
+		eventCount = 0;
+		overallPoints = 0;
+		classPoints = 0;
+		finishesOverall = new int[8];
+		finishesClass = new int[8];
 	}
 	
 	/**
-	  * Checks if the event with the given id exists
+	  * Gets the event with the given id, creating it if 
+	  * the driver has not been in it yet.  Events usually
+	  * come in order, so the newest event is checked first.
 	  * @param id - The id of the event (datetime in XML file)
-	  * @return The event with the ID, or an empty event otherwise
+	  * @return The event with the ID
 	  */
 	public DriverEvent getEvent(long id)
 	{
+		int spot = findEvent(id);
+		if (spot >= 0)
+			return events[spot];
+		
 		DriverEvent event = new DriverEvent();
 		event.setEventID(id);
-		
-		Iterator<DriverEvent> iterate = getEventIterator();
-		while (iterate.hasNext())
-		{
-			DriverEvent tempEvent = iterate.next();
-			if (tempEvent.getEventID() == id)
-				event = tempEvent;
-		}
+		insertEvent(-(spot+1), event);
 		
 		return event;
 	}
 	
+	/**
+	  * Adds an event to the driver, if there isn't 
+	  * one with the same id already
+	  * @param event - Event to add
+	  */
 	public void addEvent(DriverEvent event)
 	{
-		if (!events.contains(event))
-			events.add(event);
+		int spot = findEvent(event.getEventID());
+		if (spot < 0)
+			insertEvent(-(spot+1), event);
 	}
 	
-	public int getOverallPointTotal()
+	/**
+	  * Finds an event by id
+	  * @param id - The id of the event
+	  * @return Spot of the event, or (-(insertion point)-1) if not found
+	  */
+	private int findEvent(long id)
 	{
-		int points = 0;
+		if (eventCount == 0 || id > eventIDs[eventCount-1])
+			return -(eventCount+1);
+		if (id == eventIDs[eventCount-1])
+			return eventCount-1;
 		
-		Iterator<DriverEvent> iterator = getEventIterator();
-		while(iterator.hasNext())
+		return Arrays.binarySearch(eventIDs, 0, eventCount, id);
+	}
+	
+	private void insertEvent(int spot, DriverEvent event)
+	{
+		if (eventCount == events.length)
 		{
-			DriverEvent event = iterator.next();
-			int temp = event.getTotalPoints();
-			points += temp;
-			LogFileManager.logPrint(header, getName()+" scored "+temp+
-					" points overall at event #"+event.getEventID());
+			eventIDs = Arrays.copyOf(eventIDs, eventCount*2);
+			events = Arrays.copyOf(events, eventCount*2);
 		}
 		
-		LogFileManager.logPrint(header, getName()+" has "+points+" points [Overall]");
+		System.arraycopy(eventIDs, spot, eventIDs, spot+1, eventCount-spot);
+		System.arraycopy(events, spot, events, spot+1, eventCount-spot);
+		eventIDs[spot] = event.getEventID();
+		events[spot] = event;
+		eventCount++;
 		
-		return points;
+		//Keep the totals up as the event's points change
+		event.setOwner(this);
+		eventPointsChanged(event.getTotalPoints(), event.getTotalClassPoints());
+		eventFinishChanged(0, event.getFinishPositionOverall(), true);
+		eventFinishChanged(0, event.getFinishPositionClass(), false);
+	}
+	
+	/**
+	  * Updates the running totals, called by the
+	  * driver's events when their points change
+	  * @param overall - Change in overall points
+	  * @param cla - Change in class points
+	  */
+	void eventPointsChanged(int overall, int cla)
+	{
+		overallPoints += overall;
+		classPoints += cla;
 	}
 	
-	public int getClassPointTotal()
+	/**
+	  * Updates the finish counts, called by the driver's
+	  * events when their finishing position changes
+	  * @param oldPosition - Position before (0 if none)
+	  * @param newPosition - Position now (0 if none)
+	  * @param overall - True if the overall position changed, false for class
+	  */
+	void eventFinishChanged(int oldPosition, int newPosition, boolean overall)
 	{
-		int points = 0;
+		if (oldPosition == newPosition)
+			return;
 		
-		Iterator<DriverEvent> iterator = getEventIterator();
-		while(iterator.hasNext())
+		int[] finishes = overall ? finishesOverall : finishesClass;
+		if (oldPosition > 0)
+			finishes[oldPosition]--;
+		if (newPosition > 0)
 		{
-			DriverEvent event = iterator.next();
-			int temp = event.getTotalPoints();
-			points += temp;
-			LogFileManager.logPrint(header, getName()+" scored "+temp+
-					" points in class at event #"+event.getEventID());
+			if (newPosition >= finishes.length)
+				finishes = Arrays.copyOf(finishes, Math.max(newPosition+1, finishes.length*2));
+			finishes[newPosition]++;
 		}
 		
-		LogFileManager.logPrint(header, getName()+" has "+points+" points [Class]");
+		if (overall)
+			finishesOverall = finishes;
+		else
+			finishesClass = finishes;
+	}
+	
+	public int getOverallPointTotal()	{	return overallPoints;	}
+	public int getClassPointTotal()	{	return classPoints;	}
+	
+	/**
+	  * Writes the points scored at each event to the
+	  * trace, for checking how the totals were reached
+	  */
+	public void logPointBreakdown()
+	{
+		for (int i = 0; i < eventCount; i++)
+		{
+			final DriverEvent event = events[i];
+			LogFileManager.logPrint(Level.Debug, header, () -> getName()+" scored "+
+					event.getTotalPoints()+" points overall at event #"+event.getEventID());
+			LogFileManager.logPrint(Level.Debug, header, () -> getName()+" scored "+
+					event.getTotalClassPoints()+" points in class at event #"+event.getEventID());
+		}
 		
-		return points;
+		LogFileManager.logPrint(Level.Debug, header, () -> getName()+" has "+overallPoints+
+				" points [Overall]");
+		LogFileManager.logPrint(Level.Debug, header, () -> getName()+" has "+classPoints+
+				" points [Class]");
 	}
 	
-	public int getOverallPosition()	{	return positionOverall;	}
-	public int getClassPosition()	{	return positionClass;	}
+	/**
+	  * Gets how many times the driver finished in a position
+	  * @param position - Finishing position (1 for wins)
+	  * @param overall - True for overall finishes, false for class
+	  * @return Number of finishes in the position
+	  */
+	public int getFinishCount(int position, boolean overall)
+	{
+		int[] finishes = overall ? finishesOverall : finishesClass;
+		return (position > 0 && position < finishes.length) ? finishes[position] : 0;
+	}
 	
-	public Iterator<DriverEvent> getEventIterator()	{	return events.iterator();	}
+	/**
+	  * Gets the worst position the driver may have finished in
+	  * @param overall - True for overall finishes, false for class
+	  * @return Highest position that could have a finish counted
+	  */
+	public int getWorstFinish(boolean overall)
+	{
+		return (overall ? finishesOverall : finishesClass).length-1;
+	}
 	
-	public int getNumberOfRaces()
+	/**
+	  * Gets the finishing position in the driver's latest race
+	  * @param overall - True for the overall position, false for class
+	  * @return The position, or 0 if the driver has not finished a race
+	  */
+	public int getLastFinish(boolean overall)
 	{
-		int count = 0;
-		Iterator<DriverEvent> iterator = getEventIterator();
-		while(iterator.hasNext())
+		for (int i = eventCount-1; i >= 0; i--)
 		{
-			iterator.next();
-			count++;
+			int position = overall ? events[i].getFinishPositionOverall() :
+					events[i].getFinishPositionClass();
+			if (position > 0)
+				return position;
 		}
-		return count;
+		
+		return 0;
+	}
+	
+	public int getOverallPosition()	{	return positionOverall;	}
+	public int getClassPosition()	{	return positionClass;	}
+	
+	/**
+	  * Makes an iterator for the driver's events, oldest first
+	  * @return The iterator requested
+	  */
+	public Iterator<DriverEvent> getEventIterator()
+	{
+		return Collections.unmodifiableList(
+				Arrays.asList(events).subList(0, eventCount)).iterator();
 	}
 	
+	public int getNumberOfRaces()	{	return eventCount;	}
+	
 	public void setPositionClass(int position, Object caller)
 	{
 		if (caller instanceof DriverManager)
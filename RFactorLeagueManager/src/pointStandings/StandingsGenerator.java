@@ -1,8 +1,17 @@
 package pointStandings;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 
+import pointStandings.PointsAudit.Rule;
 import utilities.LogFileManager;
+import utilities.LogFileManager.Level;
+import utilities.TableWriter;
 
 /**
   * Responsible for managing results and
@@ -15,355 +24,437 @@ import utilities.LogFileManager;
 public final class StandingsGenerator
 {
 	private RFResultsManager results;//Race results
-	private int resultsLength;//Length of results as of last compiling
-	private boolean compiled;//Have results been compiled
+	private int resultsLength;//Number of results compiled so far
 	private static final String section = "StandingGen";
+	static final String pointsSection = "Points";//Section points awarded are logged in
 	private DriverManager drivers;
+	private PointsAudit audit;//Record of every point awarded
+	
+	/**
+	  * Constructor, auditing to Points.audit in the LOG directory
+	  */
+	public StandingsGenerator()	{	this(Paths.get(PointsAudit.fileLocation));	}
 	
 	/**
 	  * Constructor
+	  * @param auditFile - File the points awarded are audited to
 	  */
-	public StandingsGenerator()
+	public StandingsGenerator(Path auditFile)
 	{
 		LogFileManager.logPrint(section, "Constructor");
 		results = RFResultsManager.getManager();
-		resultsLength = results.getResultsSize();
-		compiled = false;
+		resultsLength = 0;
 		drivers = DriverManager.getManager();
+		audit = new PointsAudit(auditFile);
 	}
 	
 	/**
-	  * Compiles the race results into a readable results format
+	  * Compiles the results added to the manager since the
+	  * last compile.  Sessions already compiled are not 
+	  * looked at again, and only the drivers in the new 
+	  * sessions are reranked.
 	  * 
-	  * @return True if successfully compiled
+	  * @return The drivers whose standings were affected
 	  */
-	private boolean compileResults()
+	private List<StandingsDriver> compileResults()
 	{
-		boolean check = false;
 		PointsTemplate scorekeeper = new PointsTemplate();//Points tracker
+		LinkedHashSet<StandingsDriver> affected = new LinkedHashSet<StandingsDriver>();
+		
+		//Start iteratin' past what has been compiled
+		int size = results.getResultsSize();
+		for (; resultsLength < size; resultsLength++)
+			compileResult(results.getResults(resultsLength), scorekeeper, affected);
 		
-		//Start iteratin'
-		Iterator<Results> resultsIterator = results.getResultsIterator();
-		while (resultsIterator.hasNext())
+		if (!affected.isEmpty())
+			drivers.updateRanking(affected);
+		audit.flush();
+		
+		return new ArrayList<StandingsDriver>(affected);
+	}
+	
+	/**
+	  * Compiles a single session into the standings,
+	  * touching only the drivers that took part in it.
+	  * 
+	  * @param result - The session to compile
+	  * @param scorekeeper - Points tracker
+	  * @param affected - Collects the drivers in the session
+	  */
+	private void compileResult(Results result, PointsTemplate scorekeeper, 
+			Collection<StandingsDriver> affected)
+	{
+		//If race results
+		if (result instanceof RFRaceResults)
 		{
-			Results result = resultsIterator.next();
+			Iterator<RFDriverR> driverIterator = 
+					((RFRaceResults) result).getFinishDriverIterator();
 			
-			//If race results
-			if (result instanceof RFRaceResults)
+			//Cycle drivers
+			while (driverIterator.hasNext())
 			{
-				Iterator<RFDriverR> driverIterator = 
-						((RFRaceResults) result).getFinishDriverIterator();
+				//Get StandingsDriver
+				RFDriverR tempDriver = driverIterator.next();
+				StandingsDriver driver = drivers.addDriver(tempDriver);
+				affected.add(driver);
 				
-				//Cycle drivers
-				while (driverIterator.hasNext())
+				//Find event
+				DriverEvent event = driver.getEvent(result.getEventID());
+				
+				//Null check
+				if (event.getFinishPositionOverall() == 0)
 				{
-					//Get StandingsDriver
-					RFDriverR tempDriver = driverIterator.next();
-					StandingsDriver driver = drivers.addDriver(tempDriver);
 					
-					//Find event
-					DriverEvent event = driver.getEvent(result.getEventID());
+					//Flesh out basic information
+					event.setTeamName(tempDriver.getTeamName());
+					event.setCarClass(tempDriver.getCarClass());
+					event.setEventID(result.getEventID());
+					event.setCarNumber(tempDriver.getCarNumber());
+					//Flesh out event-specific stats
+					event.setFastestRaceLap(tempDriver.getFastestRaceTime());
+					for (int i = 1; i < 4; i++)
+						event.setFastSectorTime(i, tempDriver.getSectorRaceTime(i));
+					//Flesh out session-specific stats
+					event.setLapsLed(tempDriver.getOverallLapsLed());
+					event.setStartingPositionOverall(tempDriver.getOverallStart());
+					event.setFinishPositionOverall(tempDriver.getOverallFinish());
+					event.setStartingPositionClass(tempDriver.getClassStart());
+					event.setFinishPositionClass(tempDriver.getClassFinish());
+					if (((RFRaceResults) result).getFastestDriver().getName() 
+							== tempDriver.getName())
+						event.setFastestLap(true);
+					if (((RFRaceResults) result).getMostLapsLed() 
+							== tempDriver.getOverallLapsLed())
+						event.setMostLapsLed(true);
+					if (((RFRaceResults) result).getMostGainedDriver().getName() 
+							== tempDriver.getName())
+						event.setFastestLap(true);
+					event.setFinished(tempDriver.isFinished());
+						//Fast sectors
+					int fastSectors = 0;
+					if (((RFRaceResults) result).getDriverSector1().getName() 
+							== tempDriver.getName())
+						fastSectors++;
+					if (((RFRaceResults) result).getDriverSector2().getName() 
+							== tempDriver.getName())
+						fastSectors++;
+					if (((RFRaceResults) result).getDriverSector3().getName() 
+							== tempDriver.getName())
+						fastSectors++;
+					event.setRaceFastSectorCount(fastSectors);
 					
-					//Null check
-					if (event.getFinishPositionOverall() == 0)
+					//TODO Calculate points here
+					//Points for finishing position
+					event.setFinishPositionOverall(tempDriver.getOverallFinish());
+					event.setFinishPositionClass(tempDriver.getClassFinish());
+					int fPoints = scorekeeper.getPointsFinishPosition(event.getFinishPositionOverall(), event.hasFinished());
+					event.setRacePointsOverall(fPoints);
+					audit.award(result.getEventID(), driver, Rule.Finish, false, fPoints,
+							event.getFinishPositionOverall());
+					if (scorekeeper.shouldOutput() && fPoints > 0)
+					{
+						LogFileManager.logPrint(Level.Info, pointsSection, "Awarding "+fPoints+" to "+
+								tempDriver.getName()+" in "+result.getEventName()+
+								" for finishing in position "+
+								event.getFinishPositionOverall()+" overall");
+					}
+						//Class points
+					if (scorekeeper.shouldClassPoints())
 					{
-						
-						//Flesh out basic information
-						event.setTeamName(tempDriver.getTeamName());
-						event.setCarClass(tempDriver.getCarClass());
-						event.setEventID(result.getEventID());
-						event.setCarNumber(tempDriver.getCarNumber());
-						//Flesh out event-specific stats
-						event.setFastestRaceLap(tempDriver.getFastestTime());
-						for (int i = 1; i < 4; i++)
-							event.setFastSectorTime(i, tempDriver.getSectorTime(i));
-						//Flesh out session-specific stats
-						event.setLapsLed(tempDriver.getOverallLapsLed());
-						event.setStartingPositionOverall(tempDriver.getOverallStart());
-						event.setFinishPositionOverall(tempDriver.getOverallFinish());
-						event.setStartingPositionClass(tempDriver.getClassStart());
-						event.setFinishPositionClass(tempDriver.getClassFinish());
-						if (((RFRaceResults) result).getFastestDriver().getName() 
-								== tempDriver.getName())
-							event.setFastestLap(true);
-						if (((RFRaceResults) result).getMostLapsLed() 
-								== tempDriver.getOverallLapsLed())
-							event.setMostLapsLed(true);
-						if (((RFRaceResults) result).getMostGainedDriver().getName() 
-								== tempDriver.getName())
-							event.setFastestLap(true);
-						event.setFinished(tempDriver.isFinished());
-							//Fast sectors
-						int fastSectors = 0;
-						if (((RFRaceResults) result).getDriverSector1().getName() 
-								== tempDriver.getName())
-							fastSectors++;
-						if (((RFRaceResults) result).getDriverSector2().getName() 
-								== tempDriver.getName())
-							fastSectors++;
-						if (((RFRaceResults) result).getDriverSector3().getName() 
-								== tempDriver.getName())
-							fastSectors++;
-						event.setRaceFastSectorCount(fastSectors);
-						
-						//TODO Calculate points here
-						//TODO Log each time points are added
-						//Points for finishing position
-						event.setFinishPositionOverall(tempDriver.getOverallFinish());
-						event.setFinishPositionClass(tempDriver.getClassFinish());
-						int fPoints = scorekeeper.getPointsFinishPosition(event.getFinishPositionOverall(), event.hasFinished());
-						event.setRacePointsOverall(fPoints);
-						if (scorekeeper.shouldOutput() && fPoints > 0)
+						int fPointsC = scorekeeper.getPointsFinishPosition(event.getFinishPositionClass(), event.hasFinished());
+						event.setRacePointsClass(fPointsC);
+						audit.award(result.getEventID(), driver, Rule.Finish, true, fPointsC,
+								event.getFinishPositionClass());
+						if (scorekeeper.shouldOutput() && fPointsC > 0)
 						{
-							LogFileManager.logPrint(section, "Awarding "+fPoints+" to "+
+							LogFileManager.logPrint(Level.Info, pointsSection, "Awarding "+fPointsC+" to "+
 									tempDriver.getName()+" in "+result.getEventName()+
 									" for finishing in position "+
-									event.getFinishPositionOverall()+" overall");
+									event.getFinishPositionClass()+" in class");
+						}
+					}
+					
+					//Points for owner points
+					//TODO Create owner points system
+					
+					//Laps led points processing info
+					event.setLapsLed(tempDriver.getOverallLapsLed());
+					int ledPoints = 0;
+					if (event.getLapsLed() > 0)
+						ledPoints = scorekeeper.pointsLapsLed();
+					event.addBonusPointsOverall(ledPoints);
+					audit.award(result.getEventID(), driver, Rule.LapsLed, false, ledPoints,
+							event.getLapsLed());
+					if (scorekeeper.shouldOutput() && ledPoints > 0)
+					{
+						LogFileManager.logPrint(Level.Info, pointsSection, "Awarding "+ledPoints+
+								" to "+tempDriver.getName()+" in "
+								+result.getEventName()+" for leading laps");
+					}
+					if (scorekeeper.shouldClassPoints())
+					{
+						event.addBonusPointsClass(ledPoints);
+						audit.award(result.getEventID(), driver, Rule.LapsLed, true, ledPoints,
+								event.getLapsLed());
+					}
+					
+					//Most laps led points
+					if (((RFRaceResults) result).getMostLapsLed() == event.getLapsLed())
+					{
+						event.setMostLapsLed(true);
+						int mostPoints = scorekeeper.pointsMostLapsLed();
+						event.addBonusPointsOverall(mostPoints);
+						audit.award(result.getEventID(), driver, Rule.MostLapsLed, false, mostPoints,
+								event.getLapsLed());
+						if (scorekeeper.shouldOutput() && mostPoints > 0)
+						{
+							LogFileManager.logPrint(Level.Info, pointsSection, "Awarding "+mostPoints+
+									" to "+tempDriver.getName()+" in "
+									+result.getEventName()+" for leading the most laps");
 						}
-							//Class points
 						if (scorekeeper.shouldClassPoints())
 						{
-							int fPointsC = scorekeeper.getPointsFinishPosition(event.getFinishPositionClass(), event.hasFinished());
-							event.setRacePointsClass(fPointsC);
-							if (scorekeeper.shouldOutput() && fPointsC > 0)
-							{
-								LogFileManager.logPrint(section, "Awarding "+fPointsC+" to "+
-										tempDriver.getName()+" in "+result.getEventName()+
-										" for finishing in position "+
-										event.getFinishPositionClass()+" in class");
-							}
+							event.addBonusPointsClass(mostPoints);
+							audit.award(result.getEventID(), driver, Rule.MostLapsLed, true, mostPoints,
+									event.getLapsLed());
 						}
-						
-						//Points for owner points
-						//TODO Create owner points system
-						
-						//Laps led points processing info
-						event.setLapsLed(tempDriver.getOverallLapsLed());
-						int ledPoints = 0;
-						if (event.getLapsLed() > 0)
-							ledPoints = scorekeeper.pointsLapsLed();
-						event.addBonusPointsOverall(ledPoints);
-						if (scorekeeper.shouldOutput() && ledPoints > 0)
+					}
+					
+					//Fast lap points
+					if (((RFRaceResults) result).getFastestDriver().getName() == tempDriver.getName())
+					{
+						event.setFastestLap(true);
+						int fastPoints = scorekeeper.pointsRaceFastLap();
+						event.addBonusPointsOverall(fastPoints);
+						audit.award(result.getEventID(), driver, Rule.FastLap, false, fastPoints, 0);
+						if (scorekeeper.shouldOutput() && fastPoints > 0)
 						{
-							LogFileManager.logPrint(section, "Awarding "+ledPoints+
-									" to "+tempDriver.getName()+" in "
-									+result.getEventName()+" for leading laps");
+							LogFileManager.logPrint(Level.Info, pointsSection, "Awarding "+fastPoints+
+									" to "+tempDriver.getName()+" in "+
+									result.getEventName()+" for turning the fastest lap");
 						}
 						if (scorekeeper.shouldClassPoints())
-							event.addBonusPointsClass(ledPoints);
-						
-						//Most laps led points
-						if (((RFRaceResults) result).getMostLapsLed() == event.getLapsLed())
 						{
-							event.setMostLapsLed(true);
-							int mostPoints = scorekeeper.pointsMostLapsLed();
-							event.addBonusPointsOverall(mostPoints);
-							if (scorekeeper.shouldOutput() && mostPoints > 0)
-							{
-								LogFileManager.logPrint(section, "Awarding "+mostPoints+
-										" to "+tempDriver.getName()+" in "
-										+result.getEventName()+" for leading the most laps");
-							}
-							if (scorekeeper.shouldClassPoints())
-								event.addBonusPointsClass(mostPoints);
+							event.addBonusPointsClass(fastPoints);
+							audit.award(result.getEventID(), driver, Rule.FastLap, true, fastPoints, 0);
 						}
-						
-						//Fast lap points
-						if (((RFRaceResults) result).getFastestDriver().getName() == tempDriver.getName())
+					}
+					//TODO Check for class-only, fast lap
+					
+					//Fast sector points
+					if (fastSectors > 0)
+					{
+						int sectPoints = scorekeeper.pointsRaceFastSector()*fastSectors;
+						event.addBonusPointsOverall(sectPoints);
+						audit.award(result.getEventID(), driver, Rule.FastSector, false, sectPoints,
+								fastSectors);
+						if (scorekeeper.shouldOutput() && sectPoints > 0)
 						{
-							event.setFastestLap(true);
-							int fastPoints = scorekeeper.pointsRaceFastLap();
-							event.addBonusPointsOverall(fastPoints);
-							if (scorekeeper.shouldOutput() && fastPoints > 0)
-							{
-								LogFileManager.logPrint(section, "Awarding "+fastPoints+
-										" to "+tempDriver.getName()+" in "+
-										result.getEventName()+" for turning the fastest lap");
-							}
-							if (scorekeeper.shouldClassPoints())
-								event.addBonusPointsClass(fastPoints);
+							LogFileManager.logPrint(Level.Info, pointsSection, "Awarding "+sectPoints+
+									" to "+tempDriver.getName()+" in "+
+									result.getEventName()+" for setting "+
+									fastSectors+" fast sectors in the race");
 						}
-						//TODO Check for class-only, fast lap
-						
-						//Fast sector points
-						if (fastSectors > 0)
+						if (scorekeeper.shouldClassPoints())
 						{
-							int sectPoints = scorekeeper.pointsRaceFastSector()*fastSectors;
-							event.addBonusPointsOverall(sectPoints);
-							if (scorekeeper.shouldOutput() && sectPoints > 0)
-							{
-								LogFileManager.logPrint(section, "Awarding "+sectPoints+
-										" to "+tempDriver.getName()+" in "+
-										result.getEventName()+" for setting "+
-										fastSectors+" fast sectors in the race");
-							}
-							if (scorekeeper.shouldClassPoints())
-								event.addBonusPointsClass(sectPoints);
+							event.addBonusPointsClass(sectPoints);
+							audit.award(result.getEventID(), driver, Rule.FastSector, true, sectPoints,
+									fastSectors);
 						}
-						
-						//Points for most positions gained
-						if (((RFRaceResults) result).getBiggestGainer().getName() == tempDriver.getName())
+					}
+					
+					//Points for most positions gained
+					if (((RFRaceResults) result).getBiggestGainer().getName() == tempDriver.getName())
+					{
+						event.setMostGained(true);
+						int mostPoints = scorekeeper.pointsMostGained();
+						event.addBonusPointsOverall(mostPoints);
+						int gained = event.getStartingPositionOverall()-event.getFinishPositionOverall();
+						audit.award(result.getEventID(), driver, Rule.MostGained, false, mostPoints,
+								gained);
+						if (scorekeeper.shouldOutput() && mostPoints > 0)
+						{
+							LogFileManager.logPrint(Level.Info, pointsSection, "Awarding "+mostPoints+
+									" to "+tempDriver.getName()+" in "+
+									result.getEventName()+" for gaining the most positions ["+
+									event.getStartingPositionOverall()+
+									"->"+event.getFinishPositionOverall()+"]");
+						}
+						if (scorekeeper.shouldClassPoints())
 						{
-							event.setMostGained(true);
-							int mostPoints = scorekeeper.pointsMostGained();
-							event.addBonusPointsOverall(mostPoints);
-							if (scorekeeper.shouldOutput() && mostPoints > 0)
-							{
-								LogFileManager.logPrint(section, "Awarding "+mostPoints+
-										" to "+tempDriver.getName()+" in "+
-										result.getEventName()+" for gaining the most positions ["+
-										event.getStartingPositionOverall()+
-										"->"+event.getFinishPositionOverall()+"]");
-							}
-							if (scorekeeper.shouldClassPoints())
-								event.addBonusPointsClass(mostPoints);
+							event.addBonusPointsClass(mostPoints);
+							audit.award(result.getEventID(), driver, Rule.MostGained, true, mostPoints,
+									gained);
 						}
-						
-						//Add event to driver
-						driver.addEvent(event);
 					}
+					
+					//Add event to driver
+					driver.addEvent(event);
 				}
-			}//End Race
+			}
+		}//End Race
+		
+		//If qualifying results
+		if (result instanceof RFQualifyingResults)
+		{
+			Iterator<RFDriverQ> driverIterator = 
+					((RFQualifyingResults) result).getDriverIterator();
 			
-			//If qualifying results
-			if (result instanceof RFQualifyingResults)
+			//Cycle drivers
+			while (driverIterator.hasNext())
 			{
-				Iterator<RFDriverQ> driverIterator = 
-						((RFQualifyingResults) result).getDriverIterator();
+				//Get StandingsDriver
+				RFDriverQ tempDriver = driverIterator.next();
+				StandingsDriver driver = drivers.addDriver(tempDriver);
+				affected.add(driver);
+				
+				//Find event
+				DriverEvent event = driver.getEvent(result.getEventID());
+				
 				
-				//Cycle drivers
-				while (driverIterator.hasNext())
+				//Flesh out basic information
+				event.setTeamName(tempDriver.getTeamName());
+				event.setCarClass(tempDriver.getCarClass());
+				event.setEventID(result.getEventID());
+				event.setCarNumber(tempDriver.getCarNumber());
+				//Flesh out event-specific stats
+				event.setQualifyingTime(tempDriver.getFastestRaceTime());
+				for (int i = 1; i < 4; i++)
+					event.setFastSectorTime(i, tempDriver.getSectorRaceTime(i));
+				//Flesh out session-specific stats
+				event.setStartingPositionOverall(tempDriver.getOverallPosition());
+				event.setStartingPositionClass(tempDriver.getClassPosition());
+					//Fast sectors
+				int fastSectors = 0;
+				for (int i = 1; i < 4; i++)
+					if (((RFQualifyingResults) result).getSectorDriver(i).getName() 
+							== tempDriver.getName())
+						fastSectors++;
+				
+				//Points for qualifying position
+				event.setStartingPositionOverall(tempDriver.getOverallPosition());
+				event.setStartingPositionClass(tempDriver.getClassPosition());
+				int qPoints = scorekeeper.getPointsQualifyingPosition(event.getStartingPositionOverall());
+				event.setQualifyingPointsOverall(qPoints);
+				audit.award(result.getEventID(), driver, Rule.Qualifying, false, qPoints,
+						event.getStartingPositionOverall());
+				if (scorekeeper.shouldOutput() && qPoints > 0)
 				{
-					//Get StandingsDriver
-					RFDriverQ tempDriver = driverIterator.next();
-					StandingsDriver driver = drivers.addDriver(tempDriver);
-					
-					//Find event
-					DriverEvent event = driver.getEvent(result.getEventID());
-					
-					
-					//Flesh out basic information
-					event.setTeamName(tempDriver.getTeamName());
-					event.setCarClass(tempDriver.getCarClass());
-					event.setEventID(result.getEventID());
-					event.setCarNumber(tempDriver.getCarNumber());
-					//Flesh out event-specific stats
-					event.setQualifyingTime(tempDriver.getFastestTime());
-					for (int i = 1; i < 4; i++)
-						event.setFastSectorTime(i, tempDriver.getSectorTime(i));
-					//Flesh out session-specific stats
-					event.setStartingPositionOverall(tempDriver.getOverallPosition());
-					event.setStartingPositionClass(tempDriver.getClassPosition());
-						//Fast sectors
-					int fastSectors = 0;
-					for (int i = 1; i < 4; i++)
-						if (((RFQualifyingResults) result).getSectorDriver(i).getName() 
-								== tempDriver.getName())
-							fastSectors++;
-					
-					//Points for qualifying position
-					event.setStartingPositionOverall(tempDriver.getOverallPosition());
-					event.setStartingPositionClass(tempDriver.getClassPosition());
-					int qPoints = scorekeeper.getPointsQualifyingPosition(event.getStartingPositionOverall());
-					event.setQualifyingPointsOverall(qPoints);
-					if (scorekeeper.shouldOutput() && qPoints > 0)
+					LogFileManager.logPrint(Level.Info, pointsSection, "Awarding "+qPoints+" to "+
+							tempDriver.getName()+" in "+result.getEventName()+
+							" for qualifying in position "+
+							event.getStartingPositionOverall()+" overall");
+				}
+				
+				//Score class points
+				if (scorekeeper.shouldClassPoints())
+				{
+					int qPointsC = scorekeeper.getPointsQualifyingPosition(event.getStartingPositionClass());
+					event.setQualifyingPointsClass(qPointsC);
+					audit.award(result.getEventID(), driver, Rule.Qualifying, true, qPointsC,
+							event.getStartingPositionClass());
+					if (scorekeeper.shouldOutput() && qPointsC > 0)
 					{
-						LogFileManager.logPrint(section, "Awarding "+qPoints+" to "+
+						LogFileManager.logPrint(Level.Info, pointsSection, "Awarding "+qPointsC+" to "+
 								tempDriver.getName()+" in "+result.getEventName()+
 								" for qualifying in position "+
-								event.getStartingPositionOverall()+" overall");
+								event.getStartingPositionClass()+" in class");
 					}
-					
-					//Score class points
-					if (scorekeeper.shouldClassPoints())
+				}
+				
+				//Points for fast sectors in qualifying
+					//Ensure no doubling of bonus points
+				if (event.getQualifyingFastSectorCount() == 0)
+				{
+					event.setQualifyingFastSectorCount(fastSectors);
+					int sectBonus = fastSectors*scorekeeper.pointsQualiFastSector();
+					event.addBonusPointsOverall(sectBonus);
+					audit.award(result.getEventID(), driver, Rule.QualifyingSector, false, sectBonus,
+							fastSectors);
+					if (scorekeeper.shouldOutput() && sectBonus > 0)
 					{
-						int qPointsC = scorekeeper.getPointsQualifyingPosition(event.getStartingPositionClass());
-						event.setQualifyingPointsClass(qPointsC);
-						if (scorekeeper.shouldOutput() && qPointsC > 0)
-						{
-							LogFileManager.logPrint(section, "Awarding "+qPointsC+" to "+
-									tempDriver.getName()+" in "+result.getEventName()+
-									" for qualifying in position "+
-									event.getStartingPositionClass()+" in class");
-						}
+						LogFileManager.logPrint(Level.Info, pointsSection, "Awarding "+sectBonus+" to "+
+								tempDriver.getName()+" in "+result.getEventName()+
+								" for setting "+fastSectors+" fast sectors in qualifying");
 					}
-					
-					//Points for fast sectors in qualifying
-						//Ensure no doubling of bonus points
-					if (event.getQualifyingFastSectorCount() == 0)
+					if (scorekeeper.shouldClassPoints())
 					{
-						event.setQualifyingFastSectorCount(fastSectors);
-						int sectBonus = fastSectors*scorekeeper.pointsQualiFastSector();
-						event.addBonusPointsOverall(sectBonus);
-						if (scorekeeper.shouldOutput() && sectBonus > 0)
-						{
-							LogFileManager.logPrint(section, "Awarding "+sectBonus+" to "+
-									tempDriver.getName()+" in "+result.getEventName()+
-									" for setting "+fastSectors+" fast sectors in qualifying");
-						}
-						if (scorekeeper.shouldClassPoints())
-							event.addBonusPointsClass(sectBonus);
+						event.addBonusPointsClass(sectBonus);
+						audit.award(result.getEventID(), driver, Rule.QualifyingSector, true, sectBonus,
+								fastSectors);
 					}
-					
-					//Add event to driver
-					driver.addEvent(event);
-				}//End qualifying
-			}
+				}
+				
+				//Add event to driver
+				driver.addEvent(event);
+			}//End qualifying
 		}
-		
-		return check;
 	}
 	
 	/**
-	  * Adds (numToAdd) spaces to string
-	  * @param out - String to add spaces to
-	  * @param numToAdd - Number of spaces to add
-	  * @return String after adding spaces
+	  * Brings the standings up to date with any
+	  * sessions added to the results manager.
+	  * 
+	  * @return The drivers whose standings were affected
 	  */
-	private String addWhiteSpace(String out, int numToAdd)
+	public List<StandingsDriver> update()
 	{
-		for (int i = 0; i < numToAdd; i++)
-			out = out.concat(" ");
+		LogFileManager.logPrint(Level.Debug, section, "Updating from result "+resultsLength+
+				" of "+results.getResultsSize());
 		
-		return out;
+		return compileResults();
 	}
 	
+	/**
+	  * Gets the record of every point awarded, for
+	  * reading back with a PointsAuditReader
+	  * 
+	  * @return The points audit
+	  */
+	public PointsAudit getAudit()	{	return audit;	}
+	
+	/**
+	  * Compiles the results and builds the overall standings table
+	  * @return The standings, one line per driver
+	  */
 	public String produceOverallStandings()
 	{
-		String output = "";
-		
-		int count = 0;
-		while (!compiled && count++ < 2)
-			compiled = compileResults();
-		
-//		if (!compiled)
-//			return output;
+		StringBuilder output = new StringBuilder();
+		writeOverallStandings(output);
 		
-		drivers.sortByOverallPoints();
-		String newLine = ""+System.getProperty("line.separator");
+		return output.toString();
+	}
+	
+	/**
+	  * Compiles the results and writes the overall standings
+	  * table line by line, without building it in memory first
+	  * 
+	  * @param out - Where the standings are written
+	  */
+	public void writeOverallStandings(Appendable out)
+	{
+		compileResults();
+		if (new PointsTemplate().shouldFullOutput())
+			drivers.logPointBreakdown();
 		
-		Iterator<StandingsDriver> iterator = drivers.getIterator();
-		int newCount = 0;
-		while (iterator.hasNext())
-		{
-			newCount++;
-			iterator.next();
-		}
-		LogFileManager.logPrint(section, "Driver array count "+newCount);
-		iterator = drivers.getIterator();
+		TableWriter table = new TableWriter(out);
+		int lines = 0;
+		Iterator<StandingsDriver> iterator = drivers.getRankingIterator();
 		while(iterator.hasNext())
 		{
 			StandingsDriver driver = iterator.next();
-			String line = " "+driver.getOverallPosition();
-			line = addWhiteSpace(line, 5-line.length());
-			line = line.concat(""+driver.getName());
-			line = addWhiteSpace(line, 35-line.length());
-			line = line.concat(""+driver.getOverallPointTotal());
-			line = addWhiteSpace(line, 40-line.length());
-			line = line.concat(""+driver.getNumberOfRaces());
-			output = output.concat(line+newLine);
+			table.print(" ").print(driver.getOverallPosition())
+					.print(5, driver.getName())
+					.print(35, driver.getOverallPointTotal())
+					.print(40, driver.getNumberOfRaces()).endLine();
+			lines++;
 		}
-		LogFileManager.logPrint(section, output);
+		final int written = lines;
+		LogFileManager.logPrint(Level.Debug, section, () -> "Wrote standings for "+
+				written+" drivers");
+		if (table.checkError() != null)
+			LogFileManager.logPrint(Level.Warning, section, "Could not write standings: "+
+					table.checkError().getMessage());
 		
 		//TODO Output
 			//Get race names and build header
@@ -371,8 +462,6 @@ public final class StandingsGenerator
 			//Cycle drivers
 				//Get point total, # of races, finishes, and points per event
 		//TODO Future: Sort by class
-		
-		return output;
 	}
 	
 	public String produceClassStandings()
@@ -381,11 +470,8 @@ public final class StandingsGenerator
 		
 		if (new PointsTemplate().shouldClassPoints())
 		{
-			int count = 0;
-			while (!compiled && count++ < 2)
-				compiled = compileResults();
-			
-			if (!compiled)
+			compileResults();
+			if (resultsLength == 0)
 				return output;
 			
 			//TODO Output
@@ -393,4 +479,4 @@ public final class StandingsGenerator
 		
 		return output;
 	}
-}
\ No newline at end of file
+}
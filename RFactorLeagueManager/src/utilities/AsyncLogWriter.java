@@ -0,0 +1,412 @@
+package utilities;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+  * Writes text to a file from a background thread.
+  * Callers only drop their text into a fixed size
+  * ring buffer, the writer thread takes everything
+  * waiting in the buffer at once and writes it to
+  * the file's channel in a single batch.
+  * <br><br>
+  * Text is written in the order it was added.  What
+  * happens when the buffer is full is decided by the
+  * OverflowPolicy.  Nothing is guaranteed to be in
+  * the file until flush() or close() returns.
+  * <br><br>
+  * The file is rolled over by the writer thread
+  * when the RotationPolicy says it is due (The
+  * gzip, if any, is left to the policy's thread).
+  * 
+  * @author Richard Matthews
+  * @version 1 (10-17-2026)
+  */
+public final class AsyncLogWriter
+{
+	/**
+	  * What to do with new text when the buffer is full
+	  */
+	public static enum OverflowPolicy
+	{
+		Block,//Wait for the writer to make room (Nothing is lost)
+		Drop,//Throw the new text away and count it
+		WriteThrough//Write the buffer and the new text on the caller's thread
+	}
+	
+	private static final int batchBytes = 64*1024;//Size of the write buffer
+	
+	private final Path file;
+	private final RotationPolicy rotation;
+	private FileChannel channel;
+	private long fileBytes, openedAt;//Size and start time of the current file
+	private final boolean echo;//Also print everything to stdout
+	private final OverflowPolicy policy;
+	private final String[] ring;
+	private int head, count;//Oldest entry and entries waiting
+	private long added, written;//Entries ever added, entries written out
+	private long dropped;
+	private boolean closed;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notEmpty = lock.newCondition();
+	private final Condition changed = lock.newCondition();//Room made or entries written
+	private final ReentrantLock writeLock = new ReentrantLock();//Only one batch written at a time
+	private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+	private final ByteBuffer bytes = ByteBuffer.allocateDirect(batchBytes);
+	private final Thread writer;
+	
+	/**
+	  * Opens (Truncating) the file and starts the writer thread
+	  * @param file - File to write to
+	  * @param capacity - Entries the buffer can hold
+	  * @param policy - What to do when the buffer is full
+	  * @param echo - True to also print everything to stdout
+	  * @param rotation - When to roll the file over
+	  * @throws IOException - If the file can't be opened
+	  */
+	public AsyncLogWriter(Path file, int capacity, OverflowPolicy policy,
+			boolean echo, RotationPolicy rotation) throws IOException
+	{
+		this.file = file;
+		this.rotation = rotation;
+		openFile();
+		ring = new String[Math.max(capacity, 2)];
+		this.policy = policy;
+		this.echo = echo;
+		
+		writer = new Thread(new Runnable()
+			{
+				public void run()	{	drain();	}
+			}, "Log writer ("+file.getFileName()+")");
+		writer.setDaemon(true);
+		writer.start();
+	}
+	
+	/**
+	  * Adds text to be written
+	  * @param text - Text to write
+	  * @return False if the text was dropped or the writer is closed
+	  */
+	public boolean write(String text)
+	{
+		lock.lock();
+		try
+		{
+			if (closed)
+				return false;
+			
+			while (count == ring.length)
+			{
+				switch (policy)
+				{
+					case Drop:
+						dropped++;
+						return false;
+					case WriteThrough:
+						lock.unlock();
+						try
+						{
+							writeBatch();
+						}
+						finally
+						{
+							lock.lock();
+						}
+						break;
+					default:
+						changed.awaitUninterruptibly();
+						break;
+				}
+				if (closed)
+					return false;
+			}
+			
+			ring[(head+count)%ring.length] = text;
+			count++;
+			added++;
+			notEmpty.signal();
+			
+			return true;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	  * Waits until everything added so far is in the file
+	  */
+	public void flush()
+	{
+		lock.lock();
+		try
+		{
+			long target = added;
+			while (written < target && writer.isAlive())
+			{
+				notEmpty.signal();
+				changed.awaitUninterruptibly();
+			}
+		}
+		finally
+		{
+			lock.unlock();
+		}
+		
+		//Writer stopped, write the rest here
+		if (!writer.isAlive())
+			writeBatch();
+	}
+	
+	/**
+	  * Writes everything waiting, stops the
+	  * writer thread and closes the file
+	  */
+	public void close()
+	{
+		lock.lock();
+		try
+		{
+			if (closed)
+				return;
+			closed = true;
+			notEmpty.signalAll();
+			changed.signalAll();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+		
+		try
+		{
+			writer.join(TimeUnit.SECONDS.toMillis(10));
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+		}
+		
+		writeBatch();//Anything left if the writer didn't finish
+		writeLock.lock();
+		try
+		{
+			channel.close();
+		}
+		catch (IOException ex)
+		{
+			System.out.println("Error closing log file");
+			System.out.println(ex);
+		}
+		finally
+		{
+			writeLock.unlock();
+		}
+	}
+	
+	/**
+	  * Gets the number of entries thrown away because the buffer was full
+	  * @return Entries dropped
+	  */
+	public long getDroppedCount()
+	{
+		lock.lock();
+		try
+		{
+			return dropped;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	  * Writer thread loop, writes batches until closed and empty
+	  */
+	private void drain()
+	{
+		try
+		{
+			while (true)
+			{
+				lock.lock();
+				try
+				{
+					while (count == 0 && !closed)
+						notEmpty.awaitUninterruptibly();
+					if (count == 0)
+						return;
+				}
+				finally
+				{
+					lock.unlock();
+				}
+				
+				writeBatch();
+			}
+		}
+		finally
+		{
+			//Wake anyone flushing so they don't wait on a stopped thread
+			lock.lock();
+			try
+			{
+				changed.signalAll();
+			}
+			finally
+			{
+				lock.unlock();
+			}
+		}
+	}
+	
+	/**
+	  * Takes everything waiting in the ring and writes it
+	  */
+	private void writeBatch()
+	{
+		writeLock.lock();
+		try
+		{
+			//Take the batch
+			String[] batch;
+			lock.lock();
+			try
+			{
+				if (count == 0)
+					return;
+				batch = new String[count];
+				for (int i = 0; i < batch.length; i++)
+				{
+					int slot = (head+i)%ring.length;
+					batch[i] = ring[slot];
+					ring[slot] = null;
+				}
+				head = (head+count)%ring.length;
+				count = 0;
+				changed.signalAll();
+			}
+			finally
+			{
+				lock.unlock();
+			}
+			
+			//Write it
+			for (int i = 0; i < batch.length; i++)
+			{
+				encode(batch[i]);
+				if (echo)
+					System.out.print(batch[i]);
+			}
+			writeBytes();
+			if (rotation.isDue(fileBytes, openedAt))
+				rotate();
+			
+			lock.lock();
+			try
+			{
+				written += batch.length;
+				changed.signalAll();
+			}
+			finally
+			{
+				lock.unlock();
+			}
+		}
+		finally
+		{
+			writeLock.unlock();
+		}
+	}
+	
+	/**
+	  * Encodes text into the byte buffer, writing
+	  * the buffer out whenever it fills
+	  */
+	private void encode(String text)
+	{
+		CharBuffer chars = CharBuffer.wrap(text);
+		encoder.reset();
+		while (true)
+		{
+			CoderResult result = encoder.encode(chars, bytes, true);
+			if (!result.isOverflow())
+				break;
+			writeBytes();
+		}
+		encoder.flush(bytes);
+	}
+	
+	/**
+	  * Writes out the byte buffer
+	  */
+	private void writeBytes()
+	{
+		bytes.flip();
+		try
+		{
+			while (bytes.hasRemaining())
+				fileBytes += channel.write(bytes);
+		}
+		catch (IOException ex)
+		{
+			System.out.println("Error writing log file");
+			System.out.println(ex);
+		}
+		bytes.clear();
+	}
+	
+	/**
+	  * Opens (Truncating) the file and starts its size and age over
+	  */
+	private void openFile() throws IOException
+	{
+		channel = FileChannel.open(file, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		fileBytes = 0;
+		openedAt = System.currentTimeMillis();
+	}
+	
+	/**
+	  * Closes the file, rolls it over, and starts a new one.
+	  * If it can't be rolled, it is added to instead.
+	  */
+	private void rotate()
+	{
+		try
+		{
+			channel.close();
+			rotation.roll(file);
+			openFile();
+		}
+		catch (IOException ex)
+		{
+			System.out.println("Error rolling log file over");
+			System.out.println(ex);
+			try
+			{
+				channel = FileChannel.open(file, StandardOpenOption.CREATE,
+						StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+			}
+			catch (IOException e)
+			{
+				System.out.println("Error reopening log file");
+				System.out.println(e);
+			}
+			fileBytes = 0;//Don't try again every batch
+			openedAt = System.currentTimeMillis();
+		}
+	}
+}
\ No newline at end of file
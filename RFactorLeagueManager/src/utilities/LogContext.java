@@ -0,0 +1,144 @@
+package utilities;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.function.Supplier;
+
+import utilities.AsyncLogWriter.OverflowPolicy;
+import utilities.LogFileManager.Level;
+
+/**
+  * A trace and replay file pair for one league or
+  * import job.  Each context has its own writers, so
+  * jobs running side by side never share a file or
+  * wait on each other's locks.  Any thread may print
+  * to a context, lines from one call are never split.
+  * <br><br>
+  * LogFileManager's static calls print to the context
+  * bound to the calling thread (See LogFileManager.bind),
+  * or the default context if none is bound.
+  * 
+  * @author Richard Matthews
+  * @version 1 (10-17-2026)
+  */
+public final class LogContext
+{
+	private static final String lineSeparator = System.getProperty("line.separator");
+	private final String name;
+	private final AsyncLogWriter logWriter, replayWriter;
+	
+	/**
+	  * Opens a context writing Trace.txt and Output.txt in the
+	  * directory given (Created if needed, old files replaced)
+	  * 
+	  * @param name - Name of the league or job
+	  * @param directory - Directory for the files
+	  * @param echo - True to also print the replay to stdout
+	  * @param policy - What to do when a writer's buffer is full
+	  * @param bufferSize - Lines each writer can hold
+	  * @param rotation - When to roll the files over
+	  * @throws IOException - If the files can't be opened
+	  */
+	public LogContext(String name, File directory, boolean echo,
+			OverflowPolicy policy, int bufferSize, RotationPolicy rotation) throws IOException
+	{
+		this(name, new File(directory, "Trace.txt"), new File(directory, "Output.txt"),
+				echo, policy, bufferSize, rotation);
+	}
+	
+	/**
+	  * Opens a context writing the files given (Old files replaced)
+	  * 
+	  * @param name - Name of the league or job
+	  * @param traceFile - File for the trace log
+	  * @param replayFile - File for the replay
+	  * @param echo - True to also print the replay to stdout
+	  * @param policy - What to do when a writer's buffer is full
+	  * @param bufferSize - Lines each writer can hold
+	  * @param rotation - When to roll the files over
+	  * @throws IOException - If the files can't be opened
+	  */
+	public LogContext(String name, File traceFile, File replayFile, boolean echo,
+			OverflowPolicy policy, int bufferSize, RotationPolicy rotation) throws IOException
+	{
+		this.name = name;
+		createParent(traceFile);
+		createParent(replayFile);
+		logWriter = new AsyncLogWriter(traceFile.toPath(), bufferSize, policy, false, rotation);
+		replayWriter = new AsyncLogWriter(replayFile.toPath(), bufferSize, policy, echo, rotation);
+	}
+	
+	private static void createParent(File file) throws IOException
+	{
+		File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null)
+			Files.createDirectories(parent.toPath());
+	}
+	
+	/**
+	  * Prints to the replay file
+	  * @param text - text to print
+	  */
+	public void replayPrint(String text)	{	replayWriter.write(text);	}
+	
+	/**
+	  * Prints a line to the trace file if the level is logged for the section
+	  * 
+	  * @param level - How important the line is
+	  * @param section - Name of the section
+	  * @param textToPrint - text that will be printed
+	  */
+	public void logPrint(Level level, String section, String textToPrint)
+	{
+		if (LogFileManager.isLoggable(level, section))
+			write(section, textToPrint);
+	}
+	
+	/**
+	  * Prints a line to the trace file if the level is logged
+	  * for the section, only building the message if it is
+	  * 
+	  * @param level - How important the line is
+	  * @param section - Name of the section
+	  * @param message - Builds the text that will be printed
+	  */
+	public void logPrint(Level level, String section, Supplier<String> message)
+	{
+		if (LogFileManager.isLoggable(level, section))
+			write(section, message.get());
+	}
+	
+	/**
+	  * Writes a line to the trace file, no level check
+	  */
+	void write(String section, String textToPrint)
+	{
+		logWriter.write("["+section+"]"+textToPrint+lineSeparator);
+	}
+	
+	/**
+	  * Waits until everything printed so far is in the files
+	  */
+	public void flush()
+	{
+		replayWriter.flush();
+		logWriter.flush();
+	}
+	
+	/**
+	  * Writes out everything waiting and closes the files.
+	  * Lines printed after closing are dropped.
+	  * 
+	  * @return Lines dropped over the life of the context
+	  */
+	public long close()
+	{
+		replayWriter.close();
+		logWriter.close();
+		
+		return replayWriter.getDroppedCount()+logWriter.getDroppedCount();
+	}
+	
+	public String getName()	{	return name;	}
+}
\ No newline at end of file
@@ -2,9 +2,11 @@ package utilities;
 
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import utilities.AsyncLogWriter.OverflowPolicy;
 
 
          /*-----------------------------------------/---------/-----------/   __________
@@ -17,20 +19,77 @@ _______/    Solo Project              /_____/     /___/_____/   /   /   /______\
 /**
   * Tracks the two log files: ReplayLog and TraceLog.<br>
   * Built so that everything can be used from a static call.
+  * Lines are handed to AsyncLogWriters, so the files are only
+  * complete after shutdown() (Or flush()) is called.
+  * <br><br>
+  * Every call prints to the LogContext bound to the calling
+  * thread.  Threads with no context bound share the default
+  * context, Trace.txt and Output.txt in the LOG directory.
+  * Jobs running side by side (Such as two leagues) should
+  * each open and bind their own context.
+  * <br><br>
+  * Each trace line has a Level.  Lines below the level set
+  * for their section (Or the default level) are skipped
+  * before anything is built, so pass a Supplier for any
+  * message that takes work to put together.
   * 
   * @author Richard Matthews
   * @version 2 (4-7-2013)
   * @version 3 (5-26-2013)	[Added minorError(int, String)]
+  * @version 4 (10-17-2026)	[Logs written by a background thread]
+  * @version 5 (10-17-2026)	[Log levels]
+  * @version 6 (10-17-2026)	[Log contexts]
   */
 public final class LogFileManager
 {
+	/**
+	  * How important a trace line is, least to most
+	  */
+	public static enum Level
+	{
+		Trace,//Step by step detail
+		Debug,//Summaries of work done
+		Info,//Results worth keeping (Points awarded, etc)
+		Warning,//Something went wrong but the import carried on
+		Error//The import can't carry on
+	}
+	
 	private static final String directory = System.getProperty("user.dir") + 
 			File.separator + "RFLM Files" + File.separator + "LOG";
 	private static final String logFileLocation = directory + File.separator + "Trace.txt";
 	private static final String replayFileLocation = directory + File.separator + "Output.txt";
-	private static PrintWriter logPW, replayPW;//PrintWriters for logging and replay capture purposes
-	private static boolean isCreated = false;//Tracks if this class was initialized
+	private static volatile LogContext defaultContext;//Context for threads with none bound
+	private static final ThreadLocal<LogContext> boundContext = new ThreadLocal<LogContext>();
+	private static final Object createLock = new Object();//Guards creating/closing the default
+	private static volatile OverflowPolicy overflowPolicy = OverflowPolicy.Block;
+	private static volatile int bufferSize = 8192;//Lines each writer can hold before overflowing
+	private static volatile RotationPolicy rotation = 
+			new RotationPolicy(64L*1024*1024, 0, 5, true);//64 MB files, 5 gzipped backups
+	private static volatile Level defaultLevel = Level.Trace;//Lowest level logged
+	private static final ConcurrentHashMap<String, Level> sectionLevels = 
+			new ConcurrentHashMap<String, Level>();//Sections set apart from the default
+	private static volatile int lowestLevel = Level.Trace.ordinal();//Lowest level of any section
 	private static String header = "LogFileManager";
+	private static final Appendable replayOutput = new Appendable()
+	{
+		public Appendable append(CharSequence text)
+		{
+			replayPrint(String.valueOf(text));
+			return this;
+		}
+		
+		public Appendable append(CharSequence text, int start, int end)
+		{
+			replayPrint(String.valueOf(text).substring(start, end));
+			return this;
+		}
+		
+		public Appendable append(char c)
+		{
+			replayPrint(String.valueOf(c));
+			return this;
+		}
+	};
 	
 	/**
 	  * Creates the directory to save things to
@@ -49,7 +108,7 @@ public final class LogFileManager
 				System.out.println("Success");
 				return;
 			}
-
+			
 			System.out.println("Well this is embarassing!");
 			System.out.println();
 			System.out.println("Try #2");
@@ -83,22 +142,19 @@ public final class LogFileManager
 		
 		System.out.println("Creating log files");
 		
-		//Delete old files
+		//Roll the last run's files over (Deleted if no backups are kept)
 		if (new File(logFileLocation).exists())
-			deleteFile(logFileLocation);//Delete the old log file
+			rollFile(logFileLocation);//Roll the old log file
 		if (new File(replayFileLocation).exists())
-			deleteFile(replayFileLocation);//Delete the old replay file
+			rollFile(replayFileLocation);//Roll the old replay file
 		
 		//Recreate new files
 		createFile(logFileLocation);
 		createFile(replayFileLocation);
 		
-		//instantiate file writers
-		logPW = new PrintWriter(new FileWriter(logFileLocation));
-		replayPW = new PrintWriter(new FileWriter(replayFileLocation));
-		
-		//Flag as created
-		isCreated = true;
+		//instantiate file writers (Replay is echoed to stdout)
+		defaultContext = new LogContext("Default", new File(logFileLocation), 
+				new File(replayFileLocation), true, overflowPolicy, bufferSize, rotation);
 	}
 	
 	/**
@@ -121,7 +177,27 @@ public final class LogFileManager
 		
 		return false;
 	}
-
+	
+	/**
+	  * Rolls a file over with the rotation policy,
+	  * deleting it if it can't be rolled
+	  * 
+	  * @param filename : String - File to roll
+	  */
+	private static void rollFile(String filename)
+	{
+		try
+		{
+			rotation.roll(new File(filename).toPath());
+		}
+		catch (IOException ex)
+		{
+			System.out.println("Error rolling over "+filename);
+			System.out.println(ex);
+			deleteFile(filename);
+		}
+	}
+	
 	/**
 	  * Attempts to delete the file specified
 	  * 
@@ -151,7 +227,7 @@ public final class LogFileManager
 	 */
 	private static boolean fileFactory()
 	{
-		if (!isCreated)
+		if (defaultContext == null)
 		{
 			try
 			{
@@ -179,49 +255,211 @@ public final class LogFileManager
 	  */
 	public static void replayPrint(String text)
 	{
-		if(!isCreated)
-		{
-			fileFactory();
-			
-			//Fail catch
-			if (!isCreated)
-			{
-				System.out.println("Error creating file");
-				System.exit(404);
-			}
-		}
-		
-		replayPW.print(text);
-		System.out.print(text);
+		getContext().replayPrint(text);
 	}
 	
+	/**
+	  * Gets an Appendable that prints to the replay file of
+	  * the calling thread's context, for report writers
+	  * 
+	  * @return The replay output
+	  */
+	public static Appendable getReplayOutput()	{	return replayOutput;	}
+	
 	/**
 	  * Prints the information to the log file, which is used
 	  * to trace things that happen inside the system.  Log file 
 	  * is used to track and debug issues within the system.  
-	  * Does not print out to stdout.
+	  * Does not print out to stdout.  Printed at Level.Trace.
 	  * 
 	  * @param section - Name of the section
 	  * @param textToPrint - text that will be printed
 	  */
 	public static void logPrint(String section, String textToPrint)
 	{
-		if(!isCreated)
+		logPrint(Level.Trace, section, textToPrint);
+	}
+	
+	/**
+	  * Prints the information to the log file if the
+	  * level is logged for the section.
+	  * 
+	  * @param level - How important the line is
+	  * @param section - Name of the section
+	  * @param textToPrint - text that will be printed
+	  */
+	public static void logPrint(Level level, String section, String textToPrint)
+	{
+		if (isLoggable(level, section))
+			getContext().write(section, textToPrint);
+	}
+	
+	/**
+	  * Prints the information to the log file if the level
+	  * is logged for the section.  The message is only built
+	  * if it will be printed.
+	  * 
+	  * @param level - How important the line is
+	  * @param section - Name of the section
+	  * @param message - Builds the text that will be printed
+	  */
+	public static void logPrint(Level level, String section, Supplier<String> message)
+	{
+		if (isLoggable(level, section))
+			getContext().write(section, message.get());
+	}
+	
+	/**
+	  * Checks if lines of a level are logged for a section
+	  * 
+	  * @param level - Level to check
+	  * @param section - Name of the section
+	  * @return True if the line would be printed
+	  */
+	public static boolean isLoggable(Level level, String section)
+	{
+		//Below every section's level, skip the lookup
+		if (level.ordinal() < lowestLevel)
+			return false;
+		
+		Level threshold = sectionLevels.get(section);
+		if (threshold == null)
+			threshold = defaultLevel;
+		
+		return level.compareTo(threshold) >= 0;
+	}
+	
+	/**
+	  * Sets the lowest level logged for sections not set on their own
+	  * @param level - Lowest level to log
+	  */
+	public static void setLevel(Level level)
+	{
+		defaultLevel = level;
+		updateLowestLevel();
+	}
+	
+	/**
+	  * Sets the lowest level logged for one section
+	  * @param section - Name of the section
+	  * @param level - Lowest level to log, or null to use the default
+	  */
+	public static void setSectionLevel(String section, Level level)
+	{
+		if (level == null)
+			sectionLevels.remove(section);
+		else
+			sectionLevels.put(section, level);
+		updateLowestLevel();
+	}
+	
+	/**
+	  * Sets the logging for a run.  Full output traces
+	  * everything.  Otherwise only warnings, errors, and
+	  * the sections passed (At Info) are logged.
+	  * 
+	  * @param fullOutput - True to trace everything
+	  * @param infoSections - Sections to keep at Info without full output
+	  */
+	public static void configure(boolean fullOutput, String... infoSections)
+	{
+		sectionLevels.clear();
+		if (fullOutput)
+		{
+			setLevel(Level.Trace);
+			return;
+		}
+		
+		for (int i = 0; i < infoSections.length; i++)
+			sectionLevels.put(infoSections[i], Level.Info);
+		setLevel(Level.Warning);
+	}
+	
+	/**
+	  * Finds the lowest level any section logs
+	  */
+	private static synchronized void updateLowestLevel()
+	{
+		Level lowest = defaultLevel;
+		for (Level level : sectionLevels.values())
+			if (level.compareTo(lowest) < 0)
+				lowest = level;
+		lowestLevel = lowest.ordinal();
+	}
+	
+	/**
+	  * Gets the context calls from this thread print to
+	  * 
+	  * @return The context bound to this thread, or the default
+	  */
+	public static LogContext getContext()
+	{
+		LogContext context = boundContext.get();
+		if (context != null)
+			return context;
+		
+		context = defaultContext;
+		if (context != null)
+			return context;
+		
+		synchronized (createLock)
 		{
 			fileFactory();
 			
 			//Fail catch
-			if (!isCreated)
+			if (defaultContext == null)
 			{
 				System.out.println("Error creating file");
 				System.exit(404);
 			}
+			
+			return defaultContext;
 		}
+	}
+	
+	/**
+	  * Opens a context for a league or import job, writing 
+	  * to its own folder (Named after the job) in the LOG 
+	  * directory.  The replay is not echoed to stdout.
+	  * 
+	  * @param name - Name of the league or job
+	  * @return The new context (Close it when the job is done)
+	  * @throws IOException - If the files can't be opened
+	  */
+	public static LogContext openContext(String name) throws IOException
+	{
+		String folder = name.replaceAll("[^A-Za-z0-9 _.-]", "_");
+		return new LogContext(name, new File(directory, folder), false, 
+				overflowPolicy, bufferSize, rotation);
+	}
+	
+	/**
+	  * Binds a context to the calling thread, so every call
+	  * from this thread prints to it.  Bind the returned
+	  * context back when done (Usually in a finally).
+	  * 
+	  * @param context - Context to bind, or null for the default
+	  * @return The context that was bound before (Or null)
+	  */
+	public static LogContext bind(LogContext context)
+	{
+		LogContext previous = boundContext.get();
+		if (context == null)
+			boundContext.remove();
+		else
+			boundContext.set(context);
 		
-		logPW.print("["+section+"]"+textToPrint+System.getProperty("line.separator"));
-//		System.out.println("["+section+"]"+textToPrint);
+		return previous;
 	}
 	
+	/**
+	  * Gets the context bound to this thread, for handing
+	  * on to threads doing work for it
+	  * 
+	  * @return The bound context, or null if using the default
+	  */
+	public static LogContext getBoundContext()	{	return boundContext.get();	}
+	
 	/**
 	  * Prints an error to the console and error log, then exits
 	  * using the code passed to the function.  This function is
@@ -265,7 +503,7 @@ public final class LogFileManager
 				break;
 		}
 		
-		logPrint(header, errorText);
+		logPrint(Level.Error, header, errorText);
 		
 		shutdown();
 		
@@ -298,25 +536,65 @@ public final class LogFileManager
 				break;
 		}
 		
-		logPrint(header, errorText);
+		logPrint(Level.Warning, header, errorText);
 	}
 	
 	/**
-	 * Releases the resources used by this class
+	  * Sets what happens to lines logged faster than they can
+	  * be written.  Only used by contexts not opened yet.
+	  * 
+	  * @param policy - Policy for a full buffer
+	  * @param lines - Lines to buffer for each file
+	  */
+	public static void setOverflowPolicy(OverflowPolicy policy, int lines)
+	{
+		overflowPolicy = policy;
+		bufferSize = lines;
+	}
+	
+	/**
+	  * Sets when log files are rolled over.  Only 
+	  * used by contexts not opened yet.
+	  * 
+	  * @param policy - Size and age limits, and what to keep
+	  */
+	public static void setRotation(RotationPolicy policy)	{	rotation = policy;	}
+	
+	/**
+	  * Waits until everything this thread's context has printed is written
+	  */
+	public static void flush()
+	{
+		LogContext context = boundContext.get();
+		if (context == null)
+			context = defaultContext;
+		if (context != null)
+			context.flush();
+	}
+	
+	/**
+	 * Writes out anything waiting and releases the resources 
+	 * used by the default context.  Contexts opened with 
+	 * openContext are closed by their owners.
 	 * 
 	 * @return true if successful
 	 */
 	public static boolean shutdown()
 	{
-		if (isCreated)
+		LogContext context;
+		synchronized (createLock)
 		{
-			isCreated = false;
-			replayPW.close();
-			logPW.close();
-			
-			return true;
+			context = defaultContext;
+			defaultContext = null;
 		}
+		if (context == null)
+			return false;
 		
-		return false;
+		long dropped = context.close();
+		if (dropped > 0)
+			System.out.println(dropped+" log lines dropped");
+		RotationPolicy.awaitCompression();
+		
+		return true;
 	}
 }
\ No newline at end of file
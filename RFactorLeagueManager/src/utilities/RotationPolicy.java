@@ -0,0 +1,209 @@
+package utilities;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.zip.GZIPOutputStream;
+
+/**
+  * When to roll a log file over and what to keep.
+  * A rolled file is renamed with a number before
+  * its extension (Trace.txt becomes Trace.1.txt,
+  * Trace.1.txt becomes Trace.2.txt, and so on), and
+  * files past the number kept are deleted.  Rolled
+  * files can be gzipped (Trace.1.txt.gz).  The gzip
+  * runs on its own thread after the rename, so the
+  * log writer is not held up; the next roll of the
+  * same file waits for it to finish.
+  * <br><br>
+  * Sizes are checked after each batch is written,
+  * so a file can run over by one batch.
+  * 
+  * @author Richard Matthews
+  * @version 1 (10-17-2026)
+  */
+public final class RotationPolicy
+{
+	/**	Never roll files over	*/
+	public static final RotationPolicy none = new RotationPolicy(0, 0, 0, false);
+	private static final ExecutorService compressor = Executors.newSingleThreadExecutor(
+			new ThreadFactory()
+			{
+				public Thread newThread(Runnable task)
+				{
+					Thread thread = new Thread(task, "Log compressor");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+	private static final ConcurrentHashMap<Path, Future<?>> compressing = 
+			new ConcurrentHashMap<Path, Future<?>>();//Live file -> gzip of its last roll
+	private final long maxBytes;//0 for no size limit
+	private final long maxAge;//Milliseconds, 0 for no age limit
+	private final int keep;//Rolled files kept
+	private final boolean compress;
+	
+	/**
+	  * Constructor
+	  * @param maxBytes - Size to roll a file over at (0 for no limit)
+	  * @param maxAge - Milliseconds to roll a file over after (0 for no limit)
+	  * @param keep - Number of rolled files to keep
+	  * @param compress - True to gzip rolled files
+	  */
+	public RotationPolicy(long maxBytes, long maxAge, int keep, boolean compress)
+	{
+		this.maxBytes = Math.max(maxBytes, 0);
+		this.maxAge = Math.max(maxAge, 0);
+		this.keep = Math.max(keep, 0);
+		this.compress = compress;
+	}
+	
+	/**
+	  * Checks if a file should be rolled over
+	  * @param bytes - Bytes written to the file
+	  * @param openedAt - Time the file was started (System.currentTimeMillis())
+	  * @return True if past the size or age limit
+	  */
+	public boolean isDue(long bytes, long openedAt)
+	{
+		if (maxBytes > 0 && bytes >= maxBytes)
+			return true;
+		return maxAge > 0 && System.currentTimeMillis()-openedAt >= maxAge;
+	}
+	
+	/**
+	  * Rolls a closed file over, leaving nothing at its path.
+	  * The rolled file is gzipped later on the compressor thread.
+	  * @param file - The file to roll
+	  * @throws IOException - If a file can't be moved or deleted
+	  */
+	public void roll(Path file) throws IOException
+	{
+		//The last roll has to be compressed before it is moved
+		await(compressing.remove(file));
+		
+		//Drop the oldest
+		Files.deleteIfExists(rolled(file, keep, ""));
+		Files.deleteIfExists(rolled(file, keep, ".gz"));
+		if (keep == 0)
+		{
+			Files.deleteIfExists(file);
+			return;
+		}
+		
+		//Move the rest down one
+		for (int i = keep-1; i > 0; i--)
+		{
+			moveIfExists(rolled(file, i, ""), rolled(file, i+1, ""));
+			moveIfExists(rolled(file, i, ".gz"), rolled(file, i+1, ".gz"));
+		}
+		
+		final Path first = rolled(file, 1, "");
+		Files.move(file, first, StandardCopyOption.REPLACE_EXISTING);
+		if (compress)
+			compressing.put(file, compressor.submit(new Runnable()
+				{
+					public void run()
+					{
+						try
+						{
+							gzip(first);
+						}
+						catch (IOException ex)
+						{
+							System.out.println("Error compressing "+first);
+							System.out.println(ex);
+						}
+					}
+				}));
+	}
+	
+	/**
+	  * Waits for every rolled file still being compressed.
+	  * Call before exiting, or the last gzip may be cut short.
+	  */
+	public static void awaitCompression()
+	{
+		for (Path file : compressing.keySet())
+			await(compressing.remove(file));
+	}
+	
+	private static void await(Future<?> task)
+	{
+		if (task == null)
+			return;
+		try
+		{
+			task.get();
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+		}
+		catch (ExecutionException ex)
+		{
+			System.out.println("Error compressing log file");
+			System.out.println(ex.getCause());
+		}
+	}
+	
+	/**
+	  * Gets the path of a rolled file
+	  * @param file - The live file
+	  * @param number - Number of the roll (1 is newest)
+	  * @param suffix - "" or ".gz"
+	  */
+	private static Path rolled(Path file, int number, String suffix)
+	{
+		String name = file.getFileName().toString();
+		int dot = name.lastIndexOf('.');
+		if (dot <= 0)
+			name = name+"."+number;
+		else
+			name = name.substring(0, dot)+"."+number+name.substring(dot);
+		
+		return file.resolveSibling(name+suffix);
+	}
+	
+	private static void moveIfExists(Path from, Path to) throws IOException
+	{
+		if (Files.exists(from))
+			Files.move(from, to, StandardCopyOption.REPLACE_EXISTING);
+	}
+	
+	/**
+	  * Replaces a file with a gzipped copy.  The copy is
+	  * written under a temporary name, so a gzip cut short
+	  * never leaves a broken .gz next to the file.
+	  */
+	private static void gzip(Path file) throws IOException
+	{
+		Path zipped = file.resolveSibling(file.getFileName()+".gz");
+		Path partial = file.resolveSibling(file.getFileName()+".gz.part");
+		OutputStream out = new GZIPOutputStream(Files.newOutputStream(partial), 64*1024);
+		try
+		{
+			Files.copy(file, out);
+		}
+		finally
+		{
+			out.close();
+		}
+		Files.move(partial, zipped, StandardCopyOption.REPLACE_EXISTING);
+		Files.delete(file);
+	}
+	
+	//Accessors
+	public long getMaxBytes()	{	return maxBytes;	}
+	public long getMaxAge()	{	return maxAge;	}
+	public int getKeep()	{	return keep;	}
+	public boolean isCompressed()	{	return compress;	}
+}
\ No newline at end of file
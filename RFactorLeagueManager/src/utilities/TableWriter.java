@@ -0,0 +1,135 @@
+package utilities;
+
+import java.io.IOException;
+
+/**
+  * Writes fixed width tables to an Appendable (A Writer,
+  * StringBuilder, LogFileManager.getReplayOutput(), etc).
+  * Each line is put together in one reused buffer and
+  * handed over whole when it ends, so a report of any
+  * length only holds one line at a time.
+  * <br><br>
+  * Columns are padded out to a character position, text
+  * already past the position is left as is.  Padding is
+  * copied from a preallocated run of spaces.
+  * <br><br>
+  * Like a PrintWriter, errors from the Appendable are
+  * kept rather than thrown (See checkError()).
+  * Not thread safe.
+  * 
+  * @author Richard Matthews
+  * @version 1 (10-17-2026)
+  */
+public final class TableWriter
+{
+	private static final String lineSeparator = System.getProperty("line.separator");
+	private static final String spaces = new String(new char[128]).replace('\0', ' ');
+	private final Appendable out;
+	private final StringBuilder line = new StringBuilder(160);
+	private IOException error;
+	
+	/**
+	  * Constructor
+	  * @param out - Where finished lines are written
+	  */
+	public TableWriter(Appendable out)	{	this.out = out;	}
+	
+	/**
+	  * Pads the line with spaces out to a position
+	  * @param position - Character position the next column starts at
+	  * @return This writer
+	  */
+	public TableWriter column(int position)
+	{
+		int missing = position-line.length();
+		while (missing > 0)
+		{
+			int count = Math.min(missing, spaces.length());
+			line.append(spaces, 0, count);
+			missing -= count;
+		}
+		
+		return this;
+	}
+	
+	/**
+	  * Adds text to the line
+	  * @param text - text to add
+	  * @return This writer
+	  */
+	public TableWriter print(String text)
+	{
+		line.append(text);
+		return this;
+	}
+	
+	public TableWriter print(int value)
+	{
+		line.append(value);
+		return this;
+	}
+	
+	public TableWriter print(long value)
+	{
+		line.append(value);
+		return this;
+	}
+	
+	public TableWriter print(float value)
+	{
+		line.append(value);
+		return this;
+	}
+	
+	public TableWriter print(double value)
+	{
+		line.append(value);
+		return this;
+	}
+	
+	/**
+	  * Adds text starting at a position
+	  * @param position - Character position to pad out to first
+	  * @param text - text to add
+	  * @return This writer
+	  */
+	public TableWriter print(int position, String text)	{	return column(position).print(text);	}
+	
+	public TableWriter print(int position, int value)	{	return column(position).print(value);	}
+	
+	public TableWriter print(int position, float value)	{	return column(position).print(value);	}
+	
+	/**
+	  * Ends the line, writing it out with a line separator
+	  * @return This writer
+	  */
+	public TableWriter endLine()
+	{
+		line.append(lineSeparator);
+		try
+		{
+			out.append(line);
+		}
+		catch (IOException e)
+		{
+			if (error == null)
+				error = e;
+		}
+		line.setLength(0);
+		
+		return this;
+	}
+	
+	/**
+	  * Writes a whole line
+	  * @param text - text of the line
+	  * @return This writer
+	  */
+	public TableWriter printLine(String text)	{	return print(text).endLine();	}
+	
+	/**
+	  * Gets the first error the Appendable threw
+	  * @return The error, or null if every line was written
+	  */
+	public IOException checkError()	{	return error;	}
+}